@@ -1,3 +0,0 @@
-CREATE SEQUENCE categories_id_seq;
-CREATE SEQUENCE parts_id_seq;
-CREATE SEQUENCE precisions_id_seq;
@@ -1,2 +0,0 @@
-drop table sizes;
-create table sizes(id varchar(4) not null primary key);
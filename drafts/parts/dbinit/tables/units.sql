@@ -1,5 +0,0 @@
-drop table units;
-create table units(
-  id varchar(4) not null primary key,
-  multiplier numeric not null
-);
@@ -0,0 +1,109 @@
+package org.parts.parts_backend;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.parts.parts_backend.entity.Part;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic parts and an in-memory H2 database with the parts table, so benchmarks run without Postgres.
+ */
+public final class PartsFixtures {
+    private static final String[] SIZES = {"0402", "0603", "0805", "1206", "SOT", "DIP"};
+    private static final String[] UNITS = {"Ohm", "kOhm", "pF", "nF", "uF", "uH"};
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    // Mirrors the parts table of db/migration without the foreign keys
+    private static final String PARTS_TABLE = """
+            create table parts (
+                id integer generated by default as identity primary key,
+                category_id integer not null,
+                size_id varchar(4),
+                unit_id varchar(4),
+                precision_id integer,
+                name varchar(100) not null unique,
+                value numeric,
+                quantity smallint not null check (quantity >= 0),
+                quantity_in_use smallint default 0 not null check (quantity_in_use >= 0 and quantity_in_use <= quantity),
+                quantity_not_in_use smallint generated always as (quantity - quantity_in_use),
+                comment varchar(1000),
+                revision bigint default 0 not null,
+                normalized_value numeric
+            )
+            """;
+
+    private PartsFixtures() {
+    }
+
+    /**
+     * Deterministic parts spread over 20 categories and the usual sizes and units.
+     */
+    public static List<Part> parts(int count) {
+        Random random = new Random(42);
+        List<Part> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Part part = new Part();
+            part.setId(i + 1);
+            part.setCategoryId(1 + random.nextInt(20));
+            part.setSizeId(SIZES[random.nextInt(SIZES.length)]);
+            part.setUnitId(UNITS[random.nextInt(UNITS.length)]);
+            part.setPrecisionId(1 + random.nextInt(4));
+            part.setName("PART-" + Integer.toString(random.nextInt(1 << 24), 36).toUpperCase() + "-" + i);
+            part.setValue(BigDecimal.valueOf(1 + random.nextInt(1000), random.nextInt(3)));
+            short quantity = (short) random.nextInt(500);
+            part.setQuantity(quantity);
+            part.setQuantityInUse((short) random.nextInt(quantity + 1));
+            part.setQuantityNotInUse((short) (part.getQuantity() - part.getQuantityInUse()));
+            part.setComment(i % 4 == 0 ? ("Description of part " + i + ". ").repeat(12) : null);
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    /**
+     * Builds a session factory over a fresh in-memory database that holds the given parts.
+     */
+    public static SessionFactory sessionFactory(List<Part> parts) {
+        String url = "jdbc:h2:mem:parts" + DATABASES.incrementAndGet() + ";MODE=PostgreSQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+            statement.execute(PARTS_TABLE);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        SessionFactory sessionFactory = new Configuration()
+                .addAnnotatedClass(Part.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "500")
+                .buildSessionFactory();
+        sessionFactory.inStatelessTransaction(session -> insert(session, parts));
+        return sessionFactory;
+    }
+
+    private static void insert(StatelessSession session, List<Part> parts) {
+        for (Part part : parts) {
+            Part copy = new Part();
+            copy.setCategoryId(part.getCategoryId());
+            copy.setSizeId(part.getSizeId());
+            copy.setUnitId(part.getUnitId());
+            copy.setPrecisionId(part.getPrecisionId());
+            copy.setName(part.getName());
+            copy.setValue(part.getValue());
+            copy.setQuantity(part.getQuantity());
+            copy.setQuantityInUse(part.getQuantityInUse());
+            copy.setComment(part.getComment());
+            session.insert(copy);
+        }
+    }
+}
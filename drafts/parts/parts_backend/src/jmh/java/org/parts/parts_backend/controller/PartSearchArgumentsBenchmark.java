@@ -0,0 +1,46 @@
+package org.parts.parts_backend.controller;
+
+import org.openjdk.jmh.annotations.*;
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.repository.PartProjection;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the GET /parts request parameters into the search and projection handed to the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PartSearchArgumentsBenchmark {
+    private final Integer[] categoryIds = {1, 2, 3, 4, 5};
+    private final String[] sizeIds = {"0603", "0805"};
+    private final String[] unitIds = {"kOhm"};
+    private final BigDecimal value = new BigDecimal("4.7");
+    private final BigDecimal valueFrom = new BigDecimal("4700");
+    private final BigDecimal valueTo = new BigDecimal("10000");
+    private final String[] fields = {"id", "name", "quantity"};
+
+    @Benchmark
+    public PartSearchDTO noFilters() {
+        return PartsController.toSearch(null, false, null, null, null, null, null, null, null, null, false);
+    }
+
+    @Benchmark
+    public PartSearchDTO allFilters() {
+        return PartsController.toSearch("res", true, categoryIds, sizeIds, unitIds, 2, value, valueFrom, valueTo, "smd",
+                true);
+    }
+
+    @Benchmark
+    public List<String> summaryView() {
+        return PartProjection.of(PartProjection.VIEW_SUMMARY, null);
+    }
+
+    @Benchmark
+    public List<String> fieldList() {
+        return PartProjection.of(null, fields);
+    }
+}
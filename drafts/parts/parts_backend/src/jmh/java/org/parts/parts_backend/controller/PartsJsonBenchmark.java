@@ -0,0 +1,42 @@
+package org.parts.parts_backend.controller;
+
+import org.openjdk.jmh.annotations.*;
+import org.parts.parts_backend.PartsFixtures;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.repository.PartProjection;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of GET /parts responses, full entities against the summary view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartsJsonBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int parts;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private List<Part> fullParts;
+    private List<Map<String, Object>> summaryParts;
+
+    @Setup
+    public void setUp() {
+        fullParts = PartsFixtures.parts(parts);
+        summaryParts = fullParts.stream().map(part -> PartProjection.toMap(part, PartProjection.SUMMARY)).toList();
+    }
+
+    @Benchmark
+    public byte[] full() {
+        return mapper.writeValueAsBytes(fullParts);
+    }
+
+    @Benchmark
+    public byte[] summary() {
+        return mapper.writeValueAsBytes(summaryParts);
+    }
+}
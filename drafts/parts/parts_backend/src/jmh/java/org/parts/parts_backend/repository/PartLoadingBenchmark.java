@@ -0,0 +1,67 @@
+package org.parts.parts_backend.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.parts.parts_backend.PartsFixtures;
+import org.parts.parts_backend.entity.Part;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a 10k-part search result with managed entities, read-only sessions, stateless sessions and a
+ * column projection. Run with the gc profiler (the default in build.gradle) to compare allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PartLoadingBenchmark {
+    private static final String ALL_PARTS = "from Part order by name";
+    private static final String SUMMARY = "select p.id, p.name, p.categoryId, p.sizeId, p.unitId, p.value, " +
+            "p.quantity, p.quantityNotInUse from Part p order by p.name";
+
+    @Param({"10000"})
+    public int parts;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = PartsFixtures.sessionFactory(PartsFixtures.parts(parts));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // What a plain transactional read did before: snapshots every entity and dirty-checks it on commit
+    @Benchmark
+    public List<Part> managed() {
+        return sessionFactory.fromTransaction(session ->
+                session.createSelectionQuery(ALL_PARTS, Part.class).getResultList());
+    }
+
+    // What @Transactional(readOnly = true) sets up
+    @Benchmark
+    public List<Part> readOnly() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return session.createSelectionQuery(ALL_PARTS, Part.class).getResultList();
+        });
+    }
+
+    @Benchmark
+    public List<Part> stateless() {
+        return sessionFactory.fromStatelessTransaction(session ->
+                session.createSelectionQuery(ALL_PARTS, Part.class).getResultList());
+    }
+
+    @Benchmark
+    public List<Object[]> summaryProjection() {
+        return sessionFactory.fromStatelessTransaction(session ->
+                session.createSelectionQuery(SUMMARY, Object[].class).getResultList());
+    }
+}
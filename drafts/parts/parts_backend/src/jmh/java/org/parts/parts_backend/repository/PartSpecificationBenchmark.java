@@ -0,0 +1,55 @@
+package org.parts.parts_backend.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.parts.parts_backend.PartsFixtures;
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.entity.Part;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a search into a criteria predicate, paid on every GET /parts that misses the search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartSpecificationBenchmark {
+    @Param({"none", "name", "all"})
+    public String filters;
+
+    private SessionFactory sessionFactory;
+    private PartSearchDTO search;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = PartsFixtures.sessionFactory(List.of());
+        search = switch (filters) {
+            case "none" -> new PartSearchDTO(List.of(), List.of(), List.of(), null, null, false, null, null,
+                    null, null, false);
+            case "name" -> new PartSearchDTO(List.of(), List.of(), List.of(), null, "lm317", false, null, null,
+                    null, null, false);
+            default -> new PartSearchDTO(List.of(1, 2, 3), List.of("0603", "0805"), List.of("kOhm"), 2, "res", true,
+                    new BigDecimal("4.7"), new BigDecimal("4700"), new BigDecimal("10000"), "smd", true);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate searchByCriteria() {
+        CriteriaBuilder criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        CriteriaQuery<Part> query = criteriaBuilder.createQuery(Part.class);
+        Root<Part> root = query.from(Part.class);
+        return PartSpecification.searchByCriteria(search).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,94 @@
+package org.parts.parts_backend.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty catalogue with synthetic reference data and parts through COPY, fast enough for millions of rows.
+ */
+final class CatalogueGenerator {
+    static final List<String> SIZES = List.of("0201", "0402", "0603", "0805", "1206", "1210", "2512", "SOT",
+            "SOIC", "DIP", "TO92", "QFN");
+    static final List<String> UNITS = List.of("Ohm", "kOhm", "MOhm", "pF", "nF", "uF", "nH", "uH", "mH", "V");
+    private static final String[] MULTIPLIERS = {"1", "1000", "1000000", "0.000000000001", "0.000000001",
+            "0.000001", "0.000000001", "0.000001", "0.001", "1"};
+    private static final String[] PRECISIONS = {"0.1", "0.5", "1", "2", "5", "10", "20"};
+    private static final String[] WORDS = {"res", "cap", "ind", "diode", "led", "mosfet", "bjt", "opamp", "ldo",
+            "mcu", "crystal", "fuse", "relay", "conn", "switch"};
+    private static final int ROWS_PER_WRITE = 10_000;
+
+    private final Random random = new Random(42);
+
+    void generate(Connection connection, int categories, int parts) throws SQLException {
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        StringBuilder rows = new StringBuilder();
+        for (int i = 1; i <= categories; i++) {
+            rows.append(WORDS[i % WORDS.length]).append(" group ").append(i).append('\n');
+        }
+        copyAll(copy, "copy categories (name) from stdin", rows);
+        for (int i = 0; i < UNITS.size(); i++) {
+            rows.append(UNITS.get(i)).append('\t').append(MULTIPLIERS[i]).append('\n');
+        }
+        copyAll(copy, "copy units (id, multiplier) from stdin", rows);
+        SIZES.forEach(size -> rows.append(size).append('\n'));
+        copyAll(copy, "copy sizes (id) from stdin", rows);
+        for (String precision : PRECISIONS) {
+            rows.append(precision).append('\n');
+        }
+        copyAll(copy, "copy precisions (value) from stdin", rows);
+
+        CopyIn in = copy.copyIn("copy parts (category_id, size_id, unit_id, precision_id, name, value, quantity, " +
+                "quantity_in_use, comment) from stdin");
+        try {
+            for (int i = 1; i <= parts; i++) {
+                appendPart(rows, i, categories);
+                if (i % ROWS_PER_WRITE == 0) {
+                    write(in, rows);
+                }
+            }
+            write(in, rows);
+            in.endCopy();
+        } finally {
+            if (in.isActive()) {
+                in.cancelCopy();
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+    }
+
+    private void appendPart(StringBuilder rows, int i, int categories) {
+        int quantity = random.nextInt(1000);
+        rows.append(1 + random.nextInt(categories)).append('\t')
+                .append(random.nextInt(5) == 0 ? "\\N" : SIZES.get(random.nextInt(SIZES.size()))).append('\t')
+                .append(UNITS.get(random.nextInt(UNITS.size()))).append('\t')
+                .append(1 + random.nextInt(PRECISIONS.length)).append('\t')
+                .append(WORDS[random.nextInt(WORDS.length)]).append('-')
+                .append(Integer.toString(random.nextInt(1 << 20), 36)).append('-').append(i).append('\t')
+                .append(1 + random.nextInt(999)).append('.').append(random.nextInt(10)).append('\t')
+                .append(quantity).append('\t')
+                .append(random.nextInt(quantity + 1)).append('\t')
+                .append(i % 3 == 0 ? "generated part " + i : "\\N").append('\n');
+    }
+
+    private static void copyAll(CopyManager copy, String sql, StringBuilder rows) throws SQLException {
+        CopyIn in = copy.copyIn(sql);
+        write(in, rows);
+        in.endCopy();
+    }
+
+    private static void write(CopyIn in, StringBuilder rows) throws SQLException {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        in.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+}
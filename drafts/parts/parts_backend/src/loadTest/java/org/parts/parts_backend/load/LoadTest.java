@@ -0,0 +1,63 @@
+package org.parts.parts_backend.load;
+
+import org.parts.parts_backend.PartsBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Starts Postgres, generates a catalogue, starts the application on a random port and drives mixed traffic
+ * against it, then prints throughput and latency percentiles per operation.
+ * See {@link LoadTestSettings} for the {@code load.*} properties.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (LoadTestDatabase database = LoadTestDatabase.start(settings)) {
+            database.migrate();
+            long started = System.nanoTime();
+            try (Connection connection = database.connect()) {
+                new CatalogueGenerator().generate(connection, settings.categories(), settings.parts());
+            }
+            System.out.printf("Generated %d parts in %d categories in %d s%n", settings.parts(), settings.categories(),
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+
+            try (ConfigurableApplicationContext application = new SpringApplicationBuilder(PartsBackendApplication.class)
+                    .properties(
+                            "spring.datasource.url=" + database.url(),
+                            "spring.datasource.username=" + database.username(),
+                            "spring.datasource.password=" + database.password(),
+                            "server.port=0")
+                    .run(args)) {
+                String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+                TrafficDriver driver = new TrafficDriver(baseUrl, settings);
+                driver.run(settings.warmup());
+                report(driver.run(settings.duration()), settings);
+            }
+        }
+    }
+
+    private static void report(Map<TrafficDriver.Operation, Samples> results, LoadTestSettings settings) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        System.out.printf("%n%d parts, %d workers, %.0f%% writes, %.0f s%n", settings.parts(), settings.concurrency(),
+                settings.writeRatio() * 100, seconds);
+        System.out.printf("%-20s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Samples total = new Samples();
+        results.forEach((operation, samples) -> {
+            print(operation.name(), samples, seconds);
+            total.addAll(samples);
+        });
+        print("TOTAL", total, seconds);
+    }
+
+    private static void print(String name, Samples samples, double seconds) {
+        System.out.printf("%-20s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, samples.count(),
+                samples.count() / seconds, samples.errors(), samples.percentileMillis(50),
+                samples.percentileMillis(90), samples.percentileMillis(99), samples.percentileMillis(99.9),
+                samples.percentileMillis(100));
+    }
+}
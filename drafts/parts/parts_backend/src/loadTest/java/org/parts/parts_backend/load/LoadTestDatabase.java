@@ -0,0 +1,72 @@
+package org.parts.parts_backend.load;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Postgres for the load test: a Testcontainers instance, or the database given by {@code load.jdbc-url}.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+    private final PostgreSQLContainer<?> container;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private LoadTestDatabase(PostgreSQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LoadTestDatabase start(LoadTestSettings settings) {
+        if (settings.jdbcUrl() != null) {
+            return new LoadTestDatabase(null, settings.jdbcUrl(), settings.username(), settings.password());
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:17-alpine")
+                .withDatabaseName("parts")
+                .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_connections=200");
+        container.start();
+        return new LoadTestDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    String url() {
+        return url;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    /**
+     * Creates the schema with the application's Flyway migrations.
+     */
+    void migrate() {
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
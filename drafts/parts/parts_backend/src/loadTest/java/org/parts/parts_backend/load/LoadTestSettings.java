@@ -0,0 +1,25 @@
+package org.parts.parts_backend.load;
+
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from {@code load.*} system properties.
+ *
+ * @param jdbcUrl existing empty database to use instead of a Testcontainers Postgres, or null
+ */
+record LoadTestSettings(int parts, int categories, Duration duration, Duration warmup, int concurrency,
+                        double writeRatio, String jdbcUrl, String username, String password) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.parts", 100_000),
+                Integer.getInteger("load.categories", 200),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 60)),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10)),
+                Integer.getInteger("load.concurrency", 64),
+                Double.parseDouble(System.getProperty("load.write-ratio", "0.1")),
+                System.getProperty("load.jdbc-url"),
+                System.getProperty("load.username", "postgres"),
+                System.getProperty("load.password", ""));
+    }
+}
@@ -0,0 +1,49 @@
+package org.parts.parts_backend.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one operation, in nanoseconds. Each worker owns its own instance; they are merged at the end.
+ */
+final class Samples {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void add(long latencyNanos, boolean ok) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void addAll(Samples other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.latencies[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Latency at the given percentile in milliseconds. Sorts the samples, so call it after all are added.
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return latencies[Math.clamp(index, 0, count - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,181 @@
+package org.parts.parts_backend.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop mixed traffic over all five controllers: every worker sends its next request as soon as the
+ * previous one completes. Workers run on virtual threads.
+ */
+final class TrafficDriver {
+    enum Operation {
+        LIST_PARTS(false, 15), PAGE_PARTS(false, 15), SEARCH_PARTS(false, 10), GET_PART(false, 20),
+        LIST_CATEGORIES(false, 5), LIST_UNITS(false, 5), LIST_SIZES(false, 5), LIST_PRECISIONS(false, 5),
+        RESERVE_RELEASE(true, 6), CREATE_DELETE_PART(true, 2), UPDATE_CATEGORY(true, 1), CREATE_DELETE_UNIT(true, 1);
+
+        final boolean write;
+        final int weight;
+
+        Operation(boolean write, int weight) {
+            this.write = write;
+            this.weight = weight;
+        }
+    }
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final List<Operation> reads;
+    private final List<Operation> writes;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    TrafficDriver(String baseUrl, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.reads = weighted(false);
+        this.writes = weighted(true);
+    }
+
+    /**
+     * Runs the traffic for the given duration and returns the samples per operation.
+     */
+    Map<Operation, Samples> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Operation, Samples>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                workers.add(executor.submit(() -> work(deadline)));
+            }
+        }
+        Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Samples>> worker : workers) {
+            worker.get().forEach((operation, samples) ->
+                    merged.computeIfAbsent(operation, key -> new Samples()).addAll(samples));
+        }
+        return merged;
+    }
+
+    private Map<Operation, Samples> work(long deadline) {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            List<Operation> pool = random.nextDouble() < settings.writeRatio() ? writes : reads;
+            Operation operation = pool.get(random.nextInt(pool.size()));
+            long started = System.nanoTime();
+            boolean ok;
+            try {
+                ok = execute(operation, random);
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.computeIfAbsent(operation, key -> new Samples()).add(System.nanoTime() - started, ok);
+        }
+        return samples;
+    }
+
+    private boolean execute(Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        int partId = 1 + random.nextInt(settings.parts());
+        int categoryId = 1 + random.nextInt(settings.categories());
+        return switch (operation) {
+            case LIST_PARTS -> get("/parts?view=summary&categoryIds=" + categoryId + "&unitIds=" + unit(random));
+            case PAGE_PARTS -> get("/parts/page?limit=100&categoryIds=" + categoryId);
+            case SEARCH_PARTS -> get("/parts/search?limit=20&q=" + Integer.toString(random.nextInt(1296), 36));
+            case GET_PART -> get("/parts/" + partId);
+            case LIST_CATEGORIES -> get("/categories");
+            case LIST_UNITS -> get("/units");
+            case LIST_SIZES -> get("/sizes");
+            case LIST_PRECISIONS -> get("/precisions");
+            case RESERVE_RELEASE -> post("/parts/" + partId + "/reserve", null)
+                    & post("/parts/" + partId + "/release", null);
+            case CREATE_DELETE_PART -> createAndDeletePart(categoryId);
+            case UPDATE_CATEGORY -> send(HttpRequest.newBuilder(uri("/categories/" + categoryId))
+                    .header("Content-Type", JSON)
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"load group " + categoryId + "\"}")));
+            case CREATE_DELETE_UNIT -> {
+                String id = "L" + Integer.toString(sequence.incrementAndGet() % 46656, 36);
+                yield post("/units", "{\"id\":\"" + id + "\",\"multiplier\":1}") & delete("/units/" + id);
+            }
+        };
+    }
+
+    private boolean createAndDeletePart(int categoryId) throws IOException, InterruptedException {
+        String body = "{\"categoryId\":" + categoryId + ",\"name\":\"load-" + System.nanoTime() + "-" +
+                sequence.incrementAndGet() + "\",\"quantity\":10,\"quantityInUse\":0}";
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/parts"))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (created.statusCode() != 201) {
+            return false;
+        }
+        String json = created.body();
+        int start = json.indexOf("\"id\":") + 5;
+        int end = start;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return delete("/parts/" + json.substring(start, end));
+    }
+
+    private static String unit(ThreadLocalRandom random) {
+        return CatalogueGenerator.UNITS.get(random.nextInt(CatalogueGenerator.UNITS.size()));
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).header("Accept", JSON).GET());
+    }
+
+    private boolean post(String path, String json) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", JSON)
+                .POST(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private boolean delete(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).DELETE());
+    }
+
+    // 409 is the expected answer when a part has nothing left to reserve or release
+    private boolean send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        int status = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        return status < 400 || status == 409;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static List<Operation> weighted(boolean write) {
+        List<Operation> operations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            if (operation.write == write) {
+                for (int i = 0; i < operation.weight; i++) {
+                    operations.add(operation);
+                }
+            }
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,34 @@
+package org.parts.parts_backend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ExecutionConfig {
+
+    @Value("${service.execution.mode:virtual}")
+    private ExecutionMode mode;
+
+    @Value("${service.execution.max-threads:64}")
+    private int maxThreads;
+
+    @Value("${service.execution.max-queued-tasks:10000}")
+    private int maxQueuedTasks;
+
+    @Value("${service.execution.thread-ttl-seconds:60}")
+    private int threadTtlSeconds;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler serviceScheduler() {
+        return switch (mode) {
+            case BLOCKING -> Schedulers.immediate();
+            case VIRTUAL -> Schedulers.newBoundedElastic(maxThreads, maxQueuedTasks,
+                    Thread.ofVirtual().name("service-vt-", 0).factory(), threadTtlSeconds);
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(maxThreads, maxQueuedTasks,
+                    "service", threadTtlSeconds);
+        };
+    }
+}
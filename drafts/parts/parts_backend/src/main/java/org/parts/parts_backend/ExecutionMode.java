@@ -0,0 +1,10 @@
+package org.parts.parts_backend;
+
+public enum ExecutionMode {
+    // Service calls run on the calling (event-loop) thread
+    BLOCKING,
+    // Service calls run on a bounded scheduler backed by virtual threads
+    VIRTUAL,
+    // Service calls run on a bounded scheduler backed by platform threads
+    BOUNDED_ELASTIC
+}
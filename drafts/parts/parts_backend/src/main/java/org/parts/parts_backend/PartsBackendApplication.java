@@ -2,8 +2,10 @@ package org.parts.parts_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PartsBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(PartsBackendApplication.class, args);
@@ -0,0 +1,47 @@
+package org.parts.parts_backend;
+
+import io.r2dbc.pool.PoolingConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+
+/**
+ * Enables the non-blocking read path when the {@code r2dbc} profile is active.
+ * Writes keep going through JPA, so there is still a single transaction manager.
+ */
+@Configuration
+@Profile("r2dbc")
+public class R2dbcConfig extends AbstractR2dbcConfiguration {
+
+    @Value("${r2dbc.url}")
+    private String url;
+
+    @Value("${r2dbc.pool.initial-size:4}")
+    private int initialSize;
+
+    @Value("${r2dbc.pool.max-size:16}")
+    private int maxSize;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Override
+    @Bean
+    public @NonNull ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .option(PoolingConnectionFactoryProvider.INITIAL_SIZE, initialSize)
+                .option(PoolingConnectionFactoryProvider.MAX_SIZE, maxSize)
+                .build());
+    }
+}
@@ -0,0 +1,33 @@
+package org.parts.parts_backend;
+
+import org.parts.parts_backend.jdbc.SlowQueryDataSource;
+import org.parts.parts_backend.jdbc.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.slow-query-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${sql.slow-query-log.threshold-ms:200}") long thresholdMs,
+            @Value("${sql.slow-query-log.sample-rate:1.0}") double sampleRate) {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(thresholdMs), sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+}
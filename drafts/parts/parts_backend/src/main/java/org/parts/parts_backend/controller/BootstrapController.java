@@ -0,0 +1,103 @@
+package org.parts.parts_backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.parts.parts_backend.dto.BootstrapDTO;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.entity.PartSize;
+import org.parts.parts_backend.entity.Unit;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartProjection;
+import org.parts.parts_backend.service.CategoriesService;
+import org.parts.parts_backend.service.DataVersions;
+import org.parts.parts_backend.service.PartSizesService;
+import org.parts.parts_backend.service.PartsService;
+import org.parts.parts_backend.service.PrecisionsService;
+import org.parts.parts_backend.service.UnitsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/bootstrap")
+@Tag(name = "Bootstrap", description = "Everything the parts page needs in one response")
+class BootstrapController {
+    private static final List<String> DICTIONARY_FIELDS = PartProjection.ALL.stream()
+            .filter(field -> !field.equals("sizeId") && !field.equals("unitId"))
+            .toList();
+
+    private final PartsService partsService;
+    private final CategoriesService categoriesService;
+    private final PartSizesService sizesService;
+    private final UnitsService unitsService;
+    private final PrecisionsService precisionsService;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
+
+    BootstrapController(PartsService partsService, CategoriesService categoriesService, PartSizesService sizesService,
+                        UnitsService unitsService, PrecisionsService precisionsService, ServiceCalls calls,
+                        DataVersions versions) {
+        this.partsService = partsService;
+        this.categoriesService = categoriesService;
+        this.sizesService = sizesService;
+        this.unitsService = unitsService;
+        this.precisionsService = precisionsService;
+        this.calls = calls;
+        this.versions = versions;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get parts and reference data",
+            description = "Retrieves all parts, categories, sizes, units and precisions in one response. " +
+                    "Reference data comes from the in-memory caches, so usually only the parts are read from " +
+                    "the database")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved parts and reference data")
+    Mono<BootstrapDTO> bootstrap(
+            ServerWebExchange exchange,
+            @Parameter(description = "Replace sizeId and unitId of each part with size and unit, " +
+                    "indexes into the sizes and units arrays")
+            @RequestParam(defaultValue = "false") boolean dictionary) {
+        if (exchange.checkNotModified(versions.etag(DataTable.values())))
+            return Mono.empty();
+        // Parts and revision come from one snapshot, so every later change is returned by GET /parts/changes
+        return Mono.zip(
+                calls.mono(partsService::findAllWithRevision),
+                calls.mono(categoriesService::findAll),
+                calls.mono(sizesService::findAll),
+                calls.mono(unitsService::findAll),
+                calls.mono(precisionsService::findAll)
+        ).map(all -> new BootstrapDTO(
+                dictionary ? dictionaryEncoded(all.getT1().changed, all.getT3(), all.getT4()) : all.getT1().changed,
+                all.getT2(), all.getT3(), all.getT4(), all.getT5(), all.getT1().revision));
+    }
+
+    private static List<Map<String, Object>> dictionaryEncoded(List<Part> parts, List<PartSize> sizes,
+                                                               List<Unit> units) {
+        Map<String, Integer> sizeIndexes = indexes(sizes, PartSize::getId);
+        Map<String, Integer> unitIndexes = indexes(units, Unit::getId);
+        return parts.stream().map(part -> {
+            Map<String, Object> row = PartProjection.toMap(part, DICTIONARY_FIELDS);
+            row.put("size", part.getSizeId() == null ? null : sizeIndexes.get(part.getSizeId()));
+            row.put("unit", part.getUnitId() == null ? null : unitIndexes.get(part.getUnitId()));
+            return row;
+        }).toList();
+    }
+
+    private static <T> Map<String, Integer> indexes(List<T> items, Function<T, String> id) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexes.put(id.apply(items.get(i)), i);
+        }
+        return indexes;
+    }
+}
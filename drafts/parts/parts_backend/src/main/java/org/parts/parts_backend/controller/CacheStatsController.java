@@ -0,0 +1,32 @@
+package org.parts.parts_backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.parts.parts_backend.dto.CacheStatsDTO;
+import org.parts.parts_backend.service.ReferenceDataCaches;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+@Tag(name = "Cache", description = "Reference data cache statistics")
+class CacheStatsController {
+    private final ReferenceDataCaches caches;
+
+    CacheStatsController(ReferenceDataCaches caches) {
+        this.caches = caches;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Retrieves hit/miss counters of the reference data caches")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics")
+    List<CacheStatsDTO> stats() {
+        return caches.all().stream()
+                .map(cache -> new CacheStatsDTO(cache.getName(), cache.getHits(), cache.getMisses(), cache.getSize()))
+                .toList();
+    }
+}
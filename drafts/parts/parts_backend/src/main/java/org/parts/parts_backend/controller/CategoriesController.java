@@ -11,33 +11,43 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import org.parts.parts_backend.dto.CategoryInsertDTO;
 import org.parts.parts_backend.entity.Category;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.service.CategoriesService;
+import org.parts.parts_backend.service.DataVersions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/categories")
 @Tag(name = "Categories", description = "Category management APIs")
 class CategoriesController {
     private final CategoriesService categoriesService;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
 
-    CategoriesController(CategoriesService service) {
+    CategoriesController(CategoriesService service, ServiceCalls calls, DataVersions versions) {
         categoriesService = service;
+        this.calls = calls;
+        this.versions = versions;
     }
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieves a list of all categories")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of categories")
-    List<Category> all(
+    Flux<Category> all(
+            ServerWebExchange exchange,
             @Parameter(description = "Search keyword to filter categories by name (case-insensitive)")
             @RequestParam(required = false) String name) {
+        if (exchange.checkNotModified(versions.etag(DataTable.CATEGORIES)))
+            return Flux.empty();
         var trimmed = name == null ? null : name.trim();
         if (trimmed == null || trimmed.isEmpty())
-            return categoriesService.findAll();
-        return categoriesService.findByNameContainingIgnoreCase(trimmed);
+            return calls.flux(categoriesService::findAll);
+        return calls.flux(() -> categoriesService.findByNameContainingIgnoreCase(trimmed));
     }
 
     @GetMapping("/{id}")
@@ -47,12 +57,9 @@ class CategoriesController {
                     content = @Content(schema = @Schema(implementation = Category.class))),
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content)
     })
-    ResponseEntity<@NonNull Category> one(@PathVariable int id) {
-        try {
-            return ResponseEntity.ok(categoriesService.findById(id));
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Category>> one(@PathVariable int id) {
+        return calls.mono(() -> ResponseEntity.ok(categoriesService.findById(id)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -62,9 +69,9 @@ class CategoriesController {
                     content = @Content(schema = @Schema(implementation = Category.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Category> create(@RequestBody CategoryInsertDTO categoryDTO) {
-        Category created = categoriesService.insert(categoryDTO.name);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    Mono<ResponseEntity<@NonNull Category>> create(@RequestBody CategoryInsertDTO categoryDTO) {
+        return calls.mono(() -> categoriesService.insert(categoryDTO.name))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
     }
 
     @PutMapping("/{id}")
@@ -75,14 +82,10 @@ class CategoriesController {
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Category> update(@PathVariable int id, @RequestBody CategoryInsertDTO categoryDTO) {
-        try {
-            Category category = new Category(id, categoryDTO.name);
-            Category updated = categoriesService.update(category);
-            return ResponseEntity.ok(updated);
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Category>> update(@PathVariable int id, @RequestBody CategoryInsertDTO categoryDTO) {
+        Category category = new Category(id, categoryDTO.name);
+        return calls.mono(() -> ResponseEntity.ok(categoriesService.update(category)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -91,12 +94,9 @@ class CategoriesController {
             @ApiResponse(responseCode = "204", description = "Category deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
-    ResponseEntity<Void> delete(@PathVariable int id) {
-        try {
-            categoriesService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<Void>> delete(@PathVariable int id) {
+        return calls.run(() -> categoriesService.delete(id))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 }
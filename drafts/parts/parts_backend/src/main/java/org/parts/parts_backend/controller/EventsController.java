@@ -0,0 +1,50 @@
+package org.parts.parts_backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.parts.parts_backend.dto.ChangeEventDTO;
+import org.parts.parts_backend.service.ChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/events")
+@Tag(name = "Events", description = "Live data change notifications")
+class EventsController {
+    private final ChangeFeed feed;
+    private final Duration heartbeat;
+
+    EventsController(ChangeFeed feed, @Value("${events.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.feed = feed;
+        this.heartbeat = Duration.ofSeconds(heartbeatSeconds);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to data changes",
+            description = "Streams every committed insert, update and delete as a server-sent event named after " +
+                    "the table. Bulk changes to a table are sent as one event without an id: sync with GET " +
+                    "/parts/changes, or reload if its type is DELETE (e.g. a truncate). A client that cannot keep up receives a resync event and the stream ends; it " +
+                    "should reload (e.g. GET /parts/changes) and subscribe again")
+    @ApiResponse(responseCode = "200", description = "Stream of change events")
+    Flux<ServerSentEvent<ChangeEventDTO>> events() {
+        Sinks.Empty<Void> ended = Sinks.empty();
+        Flux<ServerSentEvent<ChangeEventDTO>> changes = feed.subscribe()
+                .map(change -> ServerSentEvent.builder(change).event(change.table.name().toLowerCase()).build())
+                .onErrorResume(error -> Flux.just(ServerSentEvent.<ChangeEventDTO>builder().event("resync").build()))
+                .doFinally(signal -> ended.tryEmitEmpty());
+        // Keeps idle connections open through proxies, until the changes end
+        Flux<ServerSentEvent<ChangeEventDTO>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<ChangeEventDTO>builder().comment("heartbeat").build())
+                .takeUntilOther(ended.asMono());
+        return Flux.merge(changes, heartbeats);
+    }
+}
@@ -10,33 +10,43 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import org.parts.parts_backend.entity.PartSize;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.service.PartSizesService;
+import org.parts.parts_backend.service.DataVersions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/sizes")
 @Tag(name = "Part sizes", description = "Part sizes management APIs")
 class PartSizesController {
     private final PartSizesService service;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
 
-    PartSizesController(PartSizesService service) {
+    PartSizesController(PartSizesService service, ServiceCalls calls, DataVersions versions) {
         this.service = service;
+        this.calls = calls;
+        this.versions = versions;
     }
 
     @GetMapping
     @Operation(summary = "Get all part sizes", description = "Retrieves a list of all part sizes")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of part sizes")
-    List<PartSize> all(
+    Flux<PartSize> all(
+            ServerWebExchange exchange,
             @Parameter(description = "Search keyword to filter part sizes by id (case-insensitive)")
             @RequestParam(required = false) String id) {
+        if (exchange.checkNotModified(versions.etag(DataTable.SIZES)))
+            return Flux.empty();
         var trimmed = id == null ? null : id.trim();
         if (trimmed == null || trimmed.isEmpty())
-            return service.findAll();
-        return service.findByIdContainingIgnoreCase(trimmed);
+            return calls.flux(service::findAll);
+        return calls.flux(() -> service.findByIdContainingIgnoreCase(trimmed));
     }
 
     @PostMapping
@@ -46,9 +56,9 @@ class PartSizesController {
                     content = @Content(schema = @Schema(implementation = PartSize.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull PartSize> create(@RequestBody PartSize size) {
-        service.insert(size);
-        return ResponseEntity.status(HttpStatus.CREATED).body(size);
+    Mono<ResponseEntity<@NonNull PartSize>> create(@RequestBody PartSize size) {
+        return calls.run(() -> service.insert(size))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(size));
     }
 
     @PutMapping("/{id}")
@@ -59,13 +69,10 @@ class PartSizesController {
             @ApiResponse(responseCode = "404", description = "Part size not found", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull PartSize> update(@PathVariable String id, @RequestBody PartSize size) {
-        try {
-            service.update(id, size.getId());
-            return ResponseEntity.ok(size);
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull PartSize>> update(@PathVariable String id, @RequestBody PartSize size) {
+        return calls.run(() -> service.update(id, size.getId()))
+                .thenReturn(ResponseEntity.ok(size))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -74,12 +81,9 @@ class PartSizesController {
             @ApiResponse(responseCode = "204", description = "Part size deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Part size not found")
     })
-    ResponseEntity<Void> delete(@PathVariable String id) {
-        try {
-            service.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<Void>> delete(@PathVariable String id) {
+        return calls.run(() -> service.delete(id))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 }
@@ -10,33 +10,78 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.constraints.Positive;
+import org.parts.parts_backend.dto.BulkImportResultDTO;
+import org.parts.parts_backend.dto.PartChangesDTO;
+import org.parts.parts_backend.dto.PartPageDTO;
+import org.parts.parts_backend.dto.PartQuantitiesDTO;
 import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.dto.QuantityAdjustmentDTO;
 import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartProjection;
+import org.parts.parts_backend.repository.r2dbc.PartsR2dbcRepository;
 import org.parts.parts_backend.service.PartsService;
+import org.parts.parts_backend.service.DataVersions;
+import org.parts.parts_backend.service.ImportRow;
+import org.parts.parts_backend.service.PartCsvFormat;
+import org.parts.parts_backend.service.PartJsonFormat;
+import org.parts.parts_backend.service.PartsImportService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/parts")
 @Tag(name = "Parts", description = "Parts management APIs")
 class PartsController {
     private final PartsService partsService;
+    private final PartsImportService importService;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
+    private final PartsR2dbcRepository reactiveRepository;
+    private final PartJsonFormat jsonFormat;
 
-    PartsController(PartsService service) {
+    PartsController(PartsService service, PartsImportService importService, ServiceCalls calls, DataVersions versions,
+                    ObjectProvider<PartsR2dbcRepository> reactiveRepository, JsonMapper mapper) {
         partsService = service;
+        this.importService = importService;
+        this.calls = calls;
+        this.versions = versions;
+        this.reactiveRepository = reactiveRepository.getIfAvailable();
+        jsonFormat = new PartJsonFormat(mapper);
     }
 
-    @GetMapping
-    @Operation(summary = "Get parts", description = "Retrieves a list of parts")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of parts")
-    List<Part> all(
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Get parts", description = "Retrieves a list of parts. With Accept: application/x-ndjson " +
+            "or text/event-stream the parts are streamed as they are read from the database. With view or fields " +
+            "only the selected properties of each part are read and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of parts"),
+            @ApiResponse(responseCode = "400", description = "Unknown view or field", content = @Content)
+    })
+    Flux<?> all(
+            ServerWebExchange exchange,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             @Parameter(description = "Search keyword to filter parts by name")
             @RequestParam(required = false) String name,
+            @Parameter(description = "Match name as a prefix instead of a substring")
+            @RequestParam(defaultValue = "false") boolean namePrefix,
             @Parameter(description = "Category IDs to filter parts")
             @RequestParam(required = false) Integer[] categoryIds,
             @Parameter(description = "Size IDs to filter parts")
@@ -47,15 +92,104 @@ class PartsController {
             @RequestParam(required = false) Integer precisionId,
             @Parameter(description = "Value value to filter parts")
             @RequestParam(required = false) BigDecimal value,
+            @Parameter(description = "Lowest value times the unit multiplier, e.g. 4700 for 4.7 kOhm")
+            @RequestParam(required = false) BigDecimal valueFrom,
+            @Parameter(description = "Highest value times the unit multiplier")
+            @RequestParam(required = false) BigDecimal valueTo,
             @Parameter(description = "Comment value to filter parts")
-            @RequestParam(required = false) String comment
+            @RequestParam(required = false) String comment,
+            @Parameter(description = "Only parts with units not in use")
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @Parameter(description = "Response view: full (default) or summary (id, name, categoryId, sizeId, " +
+                    "unitId, value, quantity, quantityNotInUse)")
+            @RequestParam(required = false) String view,
+            @Parameter(description = "Part properties to return; overrides view")
+            @RequestParam(required = false) String[] fields
             ) {
-        PartSearchDTO search = new PartSearchDTO(
-                categoryIds == null ? List.of() : Arrays.stream(categoryIds).toList(),
-                sizeIds == null ? List.of() : Arrays.stream(sizeIds).toList(),
-                unitIds == null ? List.of() : Arrays.stream(unitIds).toList(),
-                precisionId, name, value, comment);
-        return partsService.find(search);
+        List<String> projection = PartProjection.of(view, fields);
+        // Media type and projection select different bodies for the same parts, so each gets its own tag.
+        // Unit multipliers feed normalizedValue and the value range filters, so units are part of the tag too.
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (exchange.checkNotModified(versions.etag(streamingType(accept) + " " + projection, DataTable.PARTS,
+                DataTable.UNITS)))
+            return Flux.empty();
+        PartSearchDTO search = toSearch(name, namePrefix, categoryIds, sizeIds, unitIds, precisionId, value, valueFrom,
+                valueTo, comment, inStock);
+        if (projection != null)
+            return projected(accept, search, projection);
+        if (reactiveRepository != null)
+            return reactiveRepository.find(search);
+        if (isStreaming(accept))
+            return calls.stream(() -> partsService.stream(search));
+        return calls.flux(() -> partsService.find(search));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of parts",
+            description = "Retrieves parts in name order, one page at a time. Pass nextCursor from the previous page " +
+                    "as cursor to get the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of parts"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    Mono<PartPageDTO> page(
+            ServerWebExchange exchange,
+            @Parameter(description = "Maximum number of parts in the page")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Search keyword to filter parts by name")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Match name as a prefix instead of a substring")
+            @RequestParam(defaultValue = "false") boolean namePrefix,
+            @Parameter(description = "Category IDs to filter parts")
+            @RequestParam(required = false) Integer[] categoryIds,
+            @Parameter(description = "Size IDs to filter parts")
+            @RequestParam(required = false) String[] sizeIds,
+            @Parameter(description = "Unit IDs to filter parts")
+            @RequestParam(required = false) String[] unitIds,
+            @Parameter(description = "Precision ID to filter parts")
+            @RequestParam(required = false) Integer precisionId,
+            @Parameter(description = "Value value to filter parts")
+            @RequestParam(required = false) BigDecimal value,
+            @Parameter(description = "Lowest value times the unit multiplier, e.g. 4700 for 4.7 kOhm")
+            @RequestParam(required = false) BigDecimal valueFrom,
+            @Parameter(description = "Highest value times the unit multiplier")
+            @RequestParam(required = false) BigDecimal valueTo,
+            @Parameter(description = "Comment value to filter parts")
+            @RequestParam(required = false) String comment,
+            @Parameter(description = "Only parts with units not in use")
+            @RequestParam(defaultValue = "false") boolean inStock
+            ) {
+        if (exchange.checkNotModified(versions.etag(DataTable.PARTS, DataTable.UNITS)))
+            return Mono.empty();
+        PartSearchDTO search = toSearch(name, namePrefix, categoryIds, sizeIds, unitIds, precisionId, value, valueFrom,
+                valueTo, comment, inStock);
+        return calls.mono(() -> partsService.findPage(search, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get part changes",
+            description = "Retrieves parts inserted, updated or deleted since a revision. Start from the revision " +
+                    "returned by GET /bootstrap (or 0 for everything) and pass the returned revision on the next call. " +
+                    "resync is true when the revision is older than the deletions the server keeps; reload everything then")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the changes")
+    Mono<PartChangesDTO> changes(
+            @Parameter(description = "Revision returned by the previous call")
+            @RequestParam(defaultValue = "0") long since) {
+        return calls.mono(() -> partsService.findChanges(since));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search parts by name",
+            description = "Retrieves parts whose name contains or resembles the search term, best matches first")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved ranked list of parts")
+    Flux<Part> search(
+            @Parameter(description = "Search term", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of parts returned")
+            @RequestParam(defaultValue = "20") int limit) {
+        return calls.flux(() -> partsService.searchRanked(q.trim(), limit));
     }
 
     @GetMapping("/{id}")
@@ -65,12 +199,13 @@ class PartsController {
                     content = @Content(schema = @Schema(implementation = Part.class))),
             @ApiResponse(responseCode = "404", description = "Part not found", content = @Content)
     })
-    ResponseEntity<@NonNull Part> one(@PathVariable Integer id) {
-        try {
-            return ResponseEntity.ok(partsService.findById(id));
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Part>> one(@PathVariable Integer id) {
+        if (reactiveRepository != null)
+            return reactiveRepository.findById(id)
+                    .map(ResponseEntity::ok)
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        return calls.mono(() -> ResponseEntity.ok(partsService.findById(id)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -80,9 +215,36 @@ class PartsController {
                     content = @Content(schema = @Schema(implementation = Part.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Part> create(@RequestBody Part part) {
-        Part created = partsService.insert(part);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    Mono<ResponseEntity<@NonNull Part>> create(@RequestBody Part part) {
+        return calls.mono(() -> partsService.insert(part))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import parts from JSON",
+            description = "Inserts a JSON array of parts in batches. Rows that fail validation or are rejected by " +
+                    "the database are skipped and reported with their 1-based position in the array")
+    @ApiResponse(responseCode = "200", description = "Import finished; rejected rows are listed in errors")
+    Mono<BulkImportResultDTO> importJson(@RequestBody Flux<JsonNode> parts) {
+        // Elements are bound one by one: a Flux<Part> would fail the whole import at the first bad element
+        return importRows(parts.index().map(row -> jsonFormat.parse(row.getT1() + 1, row.getT2())));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @Operation(summary = "Import parts from CSV",
+            description = "Inserts parts from CSV with a header line naming the columns (name, categoryId, sizeId, " +
+                    "unitId, precisionId, value, quantity, quantityInUse, comment). Rejected rows are skipped and " +
+                    "reported with their line number")
+    @ApiResponse(responseCode = "200", description = "Import finished; rejected rows are listed in errors")
+    Mono<BulkImportResultDTO> importCsv(@RequestBody Flux<String> lines) {
+        return importRows(lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .switchOnFirst((header, rows) -> {
+                    if (!header.hasValue())
+                        return Flux.empty();
+                    PartCsvFormat format = new PartCsvFormat(header.get().getT2());
+                    return rows.skip(1).map(line -> format.parse(line.getT1() + 1, line.getT2()));
+                }));
     }
 
     @PutMapping("/{id}")
@@ -93,14 +255,10 @@ class PartsController {
             @ApiResponse(responseCode = "404", description = "Part not found", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Part> update(@PathVariable Integer id, @RequestBody Part part) {
-        try {
-            part.setId(id);
-            Part updated = partsService.update(part);
-            return ResponseEntity.ok(updated);
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Part>> update(@PathVariable Integer id, @RequestBody Part part) {
+        part.setId(id);
+        return calls.mono(() -> ResponseEntity.ok(partsService.update(part)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -109,12 +267,112 @@ class PartsController {
             @ApiResponse(responseCode = "204", description = "Part deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Part not found")
     })
-    ResponseEntity<Void> delete(@PathVariable Integer id) {
-        try {
-            partsService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
-    }
-}
\ No newline at end of file
+    Mono<ResponseEntity<Void>> delete(@PathVariable Integer id) {
+        return calls.run(() -> partsService.delete(id))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/quantities")
+    @Operation(summary = "Adjust part quantities",
+            description = "Adds the deltas to quantity and quantityInUse of every listed part in one transaction. " +
+                    "Either all adjustments are applied or none")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantities adjusted; returns the resulting quantities"),
+            @ApiResponse(responseCode = "404", description = "Some of the parts were not found", content = @Content),
+            @ApiResponse(responseCode = "400", description = "A resulting quantity is invalid", content = @Content)
+    })
+    Mono<ResponseEntity<List<PartQuantitiesDTO>>> adjustQuantities(@RequestBody List<QuantityAdjustmentDTO> adjustments) {
+        return calls.mono(() -> ResponseEntity.ok(partsService.adjustQuantities(adjustments)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/reserve")
+    @Operation(summary = "Reserve units of a part",
+            description = "Atomically adds the quantity to quantityInUse if enough units are free")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Units reserved; returns the resulting quantities"),
+            @ApiResponse(responseCode = "404", description = "Part not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Not enough free units", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Quantity is not positive", content = @Content)
+    })
+    Mono<ResponseEntity<PartQuantitiesDTO>> reserve(
+            @PathVariable Integer id,
+            @Parameter(description = "Number of units to reserve")
+            @RequestParam(defaultValue = "1") @Positive int quantity) {
+        return calls.mono(() -> ResponseEntity.ok(partsService.reserve(id, quantity)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/release")
+    @Operation(summary = "Release units of a part",
+            description = "Atomically subtracts the quantity from quantityInUse if that many units are in use")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Units released; returns the resulting quantities"),
+            @ApiResponse(responseCode = "404", description = "Part not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Not enough units in use", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Quantity is not positive", content = @Content)
+    })
+    Mono<ResponseEntity<PartQuantitiesDTO>> release(
+            @PathVariable Integer id,
+            @Parameter(description = "Number of units to release")
+            @RequestParam(defaultValue = "1") @Positive int quantity) {
+        return calls.mono(() -> ResponseEntity.ok(partsService.release(id, quantity)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Delete parts", description = "Deletes all listed parts in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Parts deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Some of the parts were not found; nothing was deleted")
+    })
+    Mono<ResponseEntity<Void>> deleteAll(
+            @Parameter(description = "IDs of the parts to delete", required = true)
+            @RequestParam List<Integer> ids) {
+        return calls.run(() -> partsService.deleteAll(ids))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
+    }
+
+    private Flux<Map<String, Object>> projected(String accept, PartSearchDTO search, List<String> fields) {
+        if (reactiveRepository != null)
+            return reactiveRepository.find(search, fields);
+        if (isStreaming(accept))
+            return calls.stream(() -> partsService.stream(search, fields));
+        return calls.flux(() -> partsService.find(search, fields));
+    }
+
+    private Mono<BulkImportResultDTO> importRows(Flux<ImportRow> rows) {
+        return rows.buffer(importService.getBatchSize())
+                .concatMap(batch -> calls.mono(() -> importService.importBatch(batch)))
+                .reduceWith(BulkImportResultDTO::new, BulkImportResultDTO::add);
+    }
+
+    // Package-private for PartSearchArgumentsBenchmark
+    static PartSearchDTO toSearch(String name, boolean namePrefix, Integer[] categoryIds, String[] sizeIds,
+                                  String[] unitIds, Integer precisionId, BigDecimal value, BigDecimal valueFrom,
+                                  BigDecimal valueTo, String comment, boolean inStock) {
+        return new PartSearchDTO(
+                categoryIds == null ? List.of() : Arrays.stream(categoryIds).toList(),
+                sizeIds == null ? List.of() : Arrays.stream(sizeIds).toList(),
+                unitIds == null ? List.of() : Arrays.stream(unitIds).toList(),
+                precisionId, name, namePrefix, value, valueFrom, valueTo, comment, inStock);
+    }
+
+    private static boolean isStreaming(String accept) {
+        return streamingType(accept) != null;
+    }
+
+    // The streaming media type accepted by the client, or null for a JSON array
+    private static MediaType streamingType(String accept) {
+        if (accept == null)
+            return null;
+        return MediaType.parseMediaTypes(accept).stream()
+                .filter(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON) ||
+                        type.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM))
+                .map(MediaType::removeQualityValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
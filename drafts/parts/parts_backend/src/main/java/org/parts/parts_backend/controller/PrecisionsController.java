@@ -11,39 +11,49 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import org.parts.parts_backend.dto.PrecisionInsertDTO;
 import org.parts.parts_backend.entity.Precision;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.service.PrecisionsService;
+import org.parts.parts_backend.service.DataVersions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 @RestController
 @RequestMapping("/precisions")
 @Tag(name = "Precisions", description = "Precision management APIs")
 class PrecisionsController {
     private final PrecisionsService precisionsService;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
 
-    PrecisionsController(PrecisionsService service) {
+    PrecisionsController(PrecisionsService service, ServiceCalls calls, DataVersions versions) {
         precisionsService = service;
+        this.calls = calls;
+        this.versions = versions;
     }
 
     @GetMapping
     @Operation(summary = "Get all precisions", description = "Retrieves a list of all precisions")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of precisions")
-    List<Precision> all(
+    Flux<Precision> all(
+            ServerWebExchange exchange,
             @Parameter(description = "Search keyword to filter precisions by value")
             @RequestParam(required = false) String value) {
+        if (exchange.checkNotModified(versions.etag(DataTable.PRECISIONS)))
+            return Flux.empty();
         if (value == null || value.trim().isEmpty())
-            return precisionsService.findAll();
+            return calls.flux(precisionsService::findAll);
         try
         {
             BigDecimal bValue = new BigDecimal(value);
-            return precisionsService.findByValue(bValue);
+            return calls.flux(() -> precisionsService.findByValue(bValue));
         } catch (NumberFormatException e) {
-            return new ArrayList<>();
+            return Flux.empty();
         }
     }
 
@@ -54,12 +64,9 @@ class PrecisionsController {
                     content = @Content(schema = @Schema(implementation = Precision.class))),
             @ApiResponse(responseCode = "404", description = "precision not found", content = @Content)
     })
-    ResponseEntity<@NonNull Precision> one(@PathVariable int id) {
-        try {
-            return ResponseEntity.ok(precisionsService.findById(id));
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Precision>> one(@PathVariable int id) {
+        return calls.mono(() -> ResponseEntity.ok(precisionsService.findById(id)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -69,9 +76,9 @@ class PrecisionsController {
                     content = @Content(schema = @Schema(implementation = Precision.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Precision> create(@RequestBody PrecisionInsertDTO precisionDTO) {
-        Precision created = precisionsService.insert(precisionDTO.value);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    Mono<ResponseEntity<@NonNull Precision>> create(@RequestBody PrecisionInsertDTO precisionDTO) {
+        return calls.mono(() -> precisionsService.insert(precisionDTO.value))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
     }
 
     @PutMapping("/{id}")
@@ -82,14 +89,10 @@ class PrecisionsController {
             @ApiResponse(responseCode = "404", description = "Precision not found", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Precision> update(@PathVariable int id, @RequestBody PrecisionInsertDTO precisionDTO) {
-        try {
-            Precision precision = new Precision(id, precisionDTO.value);
-            Precision updated = precisionsService.update(precision);
-            return ResponseEntity.ok(updated);
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Precision>> update(@PathVariable int id, @RequestBody PrecisionInsertDTO precisionDTO) {
+        Precision precision = new Precision(id, precisionDTO.value);
+        return calls.mono(() -> ResponseEntity.ok(precisionsService.update(precision)))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -98,12 +101,9 @@ class PrecisionsController {
             @ApiResponse(responseCode = "204", description = "Precision deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Precision not found")
     })
-    ResponseEntity<Void> delete(@PathVariable int id) {
-        try {
-            precisionsService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<Void>> delete(@PathVariable int id) {
+        return calls.run(() -> precisionsService.delete(id))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 }
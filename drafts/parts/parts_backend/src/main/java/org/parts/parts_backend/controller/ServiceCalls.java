@@ -0,0 +1,42 @@
+package org.parts.parts_backend.controller;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs blocking service calls on the scheduler selected by {@code service.execution.mode},
+ * so that JPA work never occupies a Netty event-loop thread.
+ */
+@Component
+class ServiceCalls {
+    private final Scheduler scheduler;
+
+    ServiceCalls(Scheduler serviceScheduler) {
+        scheduler = serviceScheduler;
+    }
+
+    <T> Mono<T> mono(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    <T> Flux<T> flux(Callable<? extends Iterable<T>> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler).flatMapIterable(items -> items);
+    }
+
+    /**
+     * Emits the stream elements on demand; the stream is closed on completion, error or cancellation.
+     */
+    <T> Flux<T> stream(Supplier<Stream<T>> call) {
+        return Flux.fromStream(call).subscribeOn(scheduler);
+    }
+
+    Mono<Void> run(Runnable call) {
+        return Mono.<Void>fromRunnable(call).subscribeOn(scheduler);
+    }
+}
@@ -10,33 +10,43 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import org.parts.parts_backend.entity.Unit;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.service.UnitsService;
+import org.parts.parts_backend.service.DataVersions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/units")
 @Tag(name = "Units", description = "Units management APIs")
 class UnitsController {
     private final UnitsService service;
+    private final ServiceCalls calls;
+    private final DataVersions versions;
 
-    UnitsController(UnitsService service) {
+    UnitsController(UnitsService service, ServiceCalls calls, DataVersions versions) {
         this.service = service;
+        this.calls = calls;
+        this.versions = versions;
     }
 
     @GetMapping
     @Operation(summary = "Get all units", description = "Retrieves a list of all units")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of units")
-    List<Unit> all(
+    Flux<Unit> all(
+            ServerWebExchange exchange,
             @Parameter(description = "Search keyword to filter units by id (case-insensitive)")
             @RequestParam(required = false) String id) {
+        if (exchange.checkNotModified(versions.etag(DataTable.UNITS)))
+            return Flux.empty();
         var trimmed = id == null ? null : id.trim();
         if (trimmed == null || trimmed.isEmpty())
-            return service.findAll();
-        return service.findByIdContainingIgnoreCase(trimmed);
+            return calls.flux(service::findAll);
+        return calls.flux(() -> service.findByIdContainingIgnoreCase(trimmed));
     }
 
     @PostMapping
@@ -46,9 +56,9 @@ class UnitsController {
                     content = @Content(schema = @Schema(implementation = Unit.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Unit> create(@RequestBody Unit unit) {
-        service.insert(unit);
-        return ResponseEntity.status(HttpStatus.CREATED).body(unit);
+    Mono<ResponseEntity<@NonNull Unit>> create(@RequestBody Unit unit) {
+        return calls.run(() -> service.insert(unit))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(unit));
     }
 
     @PutMapping("/{id}")
@@ -59,13 +69,10 @@ class UnitsController {
             @ApiResponse(responseCode = "404", description = "Unit not found", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
     })
-    ResponseEntity<@NonNull Unit> update(@PathVariable String id, @RequestBody Unit unit) {
-        try {
-            service.update(id, unit);
-            return ResponseEntity.ok(unit);
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<@NonNull Unit>> update(@PathVariable String id, @RequestBody Unit unit) {
+        return calls.run(() -> service.update(id, unit))
+                .thenReturn(ResponseEntity.ok(unit))
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -74,12 +81,9 @@ class UnitsController {
             @ApiResponse(responseCode = "204", description = "Unit deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Unit not found")
     })
-    ResponseEntity<Void> delete(@PathVariable String id) {
-        try {
-            service.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (EntityNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    Mono<ResponseEntity<Void>> delete(@PathVariable String id) {
+        return calls.run(() -> service.delete(id))
+                .thenReturn(ResponseEntity.noContent().<Void>build())
+                .onErrorReturn(EntityNotFoundException.class, ResponseEntity.notFound().build());
     }
 }
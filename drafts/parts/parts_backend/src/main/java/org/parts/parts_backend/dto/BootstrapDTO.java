@@ -0,0 +1,26 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+import org.parts.parts_backend.entity.Category;
+import org.parts.parts_backend.entity.PartSize;
+import org.parts.parts_backend.entity.Precision;
+import org.parts.parts_backend.entity.Unit;
+
+import java.util.List;
+
+@AllArgsConstructor
+public class BootstrapDTO {
+    // Parts, or with dictionary encoding maps whose size and unit are indexes into sizes and units
+    public List<?> parts;
+
+    public List<Category> categories;
+
+    public List<PartSize> sizes;
+
+    public List<Unit> units;
+
+    public List<Precision> precisions;
+
+    // Pass as since to GET /parts/changes to keep the parts up to date
+    public long revision;
+}
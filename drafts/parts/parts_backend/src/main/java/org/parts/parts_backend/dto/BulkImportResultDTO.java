@@ -0,0 +1,16 @@
+package org.parts.parts_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResultDTO {
+    public int inserted;
+
+    public List<RowErrorDTO> errors = new ArrayList<>();
+
+    public BulkImportResultDTO add(BulkImportResultDTO other) {
+        inserted += other.inserted;
+        errors.addAll(other.errors);
+        return this;
+    }
+}
@@ -0,0 +1,14 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class CacheStatsDTO {
+    public String name;
+
+    public long hits;
+
+    public long misses;
+
+    public int size;
+}
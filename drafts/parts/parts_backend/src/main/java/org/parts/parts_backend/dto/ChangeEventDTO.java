@@ -0,0 +1,17 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataTable;
+
+@AllArgsConstructor
+public class ChangeEventDTO {
+    public DataTable table;
+
+    public ChangeType type;
+
+    public Object id;
+
+    // Row after the change; null for deletes or when it is not known, then read it or resync
+    public Object entity;
+}
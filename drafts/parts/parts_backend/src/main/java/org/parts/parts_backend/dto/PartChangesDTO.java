@@ -0,0 +1,21 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+import org.parts.parts_backend.entity.Part;
+
+import java.util.List;
+
+@AllArgsConstructor
+public class PartChangesDTO {
+    // Inserted or updated parts, oldest change first; all parts in name order for an initial sync
+    public List<Part> changed;
+
+    public List<Integer> deleted;
+
+    // Pass as since on the next call
+    public long revision;
+
+    // Deletions since the requested revision have been pruned: changed and deleted are empty,
+    // and the client has to reload everything, e.g. from GET /bootstrap
+    public boolean resync;
+}
@@ -0,0 +1,14 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+import org.parts.parts_backend.entity.Part;
+
+import java.util.List;
+
+@AllArgsConstructor
+public class PartPageDTO {
+    public List<Part> items;
+
+    // Opaque cursor for the next page, null on the last page
+    public String nextCursor;
+}
@@ -0,0 +1,20 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+import org.parts.parts_backend.entity.Part;
+
+@AllArgsConstructor
+public class PartQuantitiesDTO {
+    public Integer id;
+
+    public Short quantity;
+
+    public Short quantityInUse;
+
+    public Short quantityNotInUse;
+
+    public static PartQuantitiesDTO of(Part part) {
+        return new PartQuantitiesDTO(part.getId(), part.getQuantity(), part.getQuantityInUse(),
+                part.getQuantityNotInUse());
+    }
+}
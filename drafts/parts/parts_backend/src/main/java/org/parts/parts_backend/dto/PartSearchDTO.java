@@ -17,7 +17,18 @@ public class PartSearchDTO {
 
     public String name;
 
+    // Match name as a prefix instead of a substring
+    public boolean namePrefix;
+
     public BigDecimal value;
 
+    // Inclusive bounds on value times the unit multiplier, e.g. 4700 to 10000 for 4.7k to 10k
+    public BigDecimal valueFrom;
+
+    public BigDecimal valueTo;
+
     public String comment;
+
+    // Only parts with units not in use
+    public boolean inStock;
 }
@@ -0,0 +1,9 @@
+package org.parts.parts_backend.dto;
+
+public class QuantityAdjustmentDTO {
+    public Integer id;
+
+    public int quantityDelta;
+
+    public int quantityInUseDelta;
+}
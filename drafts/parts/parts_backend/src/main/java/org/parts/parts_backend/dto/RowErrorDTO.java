@@ -0,0 +1,11 @@
+package org.parts.parts_backend.dto;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class RowErrorDTO {
+    // 1-based row number in the request body
+    public long row;
+
+    public String message;
+}
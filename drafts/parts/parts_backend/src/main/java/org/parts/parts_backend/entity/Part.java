@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 
@@ -50,4 +52,14 @@ public class Part {
 
     @Column(name = "comment", length = 1000)
     private String comment;
+
+    // Id of the transaction that last wrote the row, set by the parts_revision trigger and re-read after writes
+    @Column(name = "revision", insertable = false, updatable = false)
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    private Long revision;
+
+    // Value times the unit multiplier, maintained by the parts_normalized_value trigger and re-read after writes
+    @Column(name = "normalized_value", insertable = false, updatable = false)
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    private BigDecimal normalizedValue;
 }
\ No newline at end of file
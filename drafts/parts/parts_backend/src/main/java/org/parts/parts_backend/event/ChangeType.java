@@ -0,0 +1,7 @@
+package org.parts.parts_backend.event;
+
+public enum ChangeType {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,22 @@
+package org.parts.parts_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the services on every write. Listeners should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class DataChangedEvent {
+    private final DataTable table;
+
+    private final ChangeType type;
+
+    // Primary key of the changed row
+    private final Object id;
+
+    // Row state after the change; null for deletes or when it is not known locally
+    private final Object entity;
+}
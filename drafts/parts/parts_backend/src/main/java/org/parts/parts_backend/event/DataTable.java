@@ -0,0 +1,9 @@
+package org.parts.parts_backend.event;
+
+public enum DataTable {
+    CATEGORIES,
+    UNITS,
+    PRECISIONS,
+    SIZES,
+    PARTS
+}
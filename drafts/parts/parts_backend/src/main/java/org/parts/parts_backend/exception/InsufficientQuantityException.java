@@ -0,0 +1,10 @@
+package org.parts.parts_backend.exception;
+
+/**
+ * Thrown when a reservation or release would push quantity_in_use outside of 0..quantity.
+ */
+public class InsufficientQuantityException extends RuntimeException {
+    public InsufficientQuantityException(String message) {
+        super(message);
+    }
+}
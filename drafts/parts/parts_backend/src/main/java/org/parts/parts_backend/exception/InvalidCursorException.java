@@ -0,0 +1,10 @@
+package org.parts.parts_backend.exception;
+
+/**
+ * Thrown when a page cursor passed by the client cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
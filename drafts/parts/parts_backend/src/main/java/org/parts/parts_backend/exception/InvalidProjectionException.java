@@ -0,0 +1,10 @@
+package org.parts.parts_backend.exception;
+
+/**
+ * Thrown when a parts list request names a view or field that does not exist.
+ */
+public class InvalidProjectionException extends RuntimeException {
+    public InvalidProjectionException(String message) {
+        super(message);
+    }
+}
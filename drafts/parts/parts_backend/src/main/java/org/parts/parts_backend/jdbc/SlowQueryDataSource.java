@@ -0,0 +1,158 @@
+package org.parts.parts_backend.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Times every statement executed through its connections and hands the slow ones to {@link SlowQueryLog}.
+ * Queries are logged when their result set is closed, so the row count is known.
+ * Fast statements only pay for the timing; their result sets are not wrapped.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new TracedStatement(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    private class TracedStatement implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private int batchSize;
+        private Runnable pendingLog;
+
+        TracedStatement(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, shape(name, args[1]));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("close")) {
+                flush();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(target, method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            int batch = batchSize;
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                // Executing a batch also clears it, and the statement may be reused for the next one
+                batchSize = 0;
+            }
+            long started = System.nanoTime();
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - started;
+            if (!slowQueryLog.shouldLog(elapsed)) {
+                return result;
+            }
+            Map<Integer, String> bound = new TreeMap<>(parameters);
+            if (result instanceof ResultSet resultSet) {
+                return countRows(resultSet, rows -> slowQueryLog.record(executed, bound, batch, elapsed, rows));
+            }
+            slowQueryLog.record(executed, bound, batch, elapsed, rows(result));
+            return result;
+        }
+
+        private ResultSet countRows(ResultSet resultSet, LongConsumer onClose) {
+            long[] rows = {0};
+            pendingLog = () -> onClose.accept(rows[0]);
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = SlowQueryDataSource.invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rows[0]++;
+                } else if (method.getName().equals("close")) {
+                    flush();
+                }
+                return result;
+            });
+        }
+
+        private void flush() {
+            Runnable log = pendingLog;
+            pendingLog = null;
+            if (log != null) {
+                log.run();
+            }
+        }
+    }
+
+    private static String shape(String setter, Object value) {
+        if (setter.equals("setNull") || value == null) {
+            return "null";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static long rows(Object result) {
+        return switch (result) {
+            case Integer count -> count;
+            case Long count -> count;
+            case int[] counts -> Arrays.stream(counts).allMatch(count -> count >= 0) ? Arrays.stream(counts).sum() : -1;
+            case long[] counts -> Arrays.stream(counts).allMatch(count -> count >= 0) ? Arrays.stream(counts).sum() : -1;
+            case null, default -> -1;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.parts.parts_backend.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which statements are slow enough to log and writes them to the
+ * {@code org.parts.parts_backend.jdbc.SlowQueryLog} logger. Only the types of the
+ * bind parameters are logged, never their values.
+ */
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    public SlowQueryLog(Duration threshold, double sampleRate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * True when a statement that took {@code elapsedNanos} is over the threshold and picked by sampling.
+     */
+    boolean shouldLog(long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos || !log.isWarnEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    void record(String sql, Map<Integer, String> parameters, int batchSize, long elapsedNanos, long rows) {
+        log.warn("Slow query: {} ms, {} rows{}, parameters {}: {}",
+                elapsedNanos / 1_000_000,
+                rows < 0 ? "?" : rows,
+                batchSize > 0 ? ", batch of " + batchSize : "",
+                parameters.values(),
+                sql == null ? "<batch>" : sql.replaceAll("\\s+", " ").trim());
+    }
+}
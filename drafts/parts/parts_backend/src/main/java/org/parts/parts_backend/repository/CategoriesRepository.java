@@ -2,13 +2,19 @@ package org.parts.parts_backend.repository;
 
 import lombok.NonNull;
 import org.parts.parts_backend.entity.Category;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface CategoriesRepository extends JpaRepository<@NonNull Category, @NonNull Integer> {
-    List<Category> findByNameContainingIgnoreCase(String keyword, Sort sort);
+    @Modifying
+    @Query("update Category c set c.name = :name where c.id = :id")
+    int updateName(@Param("id") Integer id, @Param("name") String name);
+
+    @Modifying
+    @Query("delete from Category c where c.id = :id")
+    int removeById(@Param("id") Integer id);
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package org.parts.parts_backend.repository;
+
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.exception.InvalidProjectionException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subset of part properties selected for list responses instead of the full entity.
+ */
+public final class PartProjection {
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+
+    // What the parts list shows; leaves out the comment and the precision
+    public static final List<String> SUMMARY = List.of("id", "name", "categoryId", "sizeId", "unitId", "value",
+            "quantity", "quantityNotInUse");
+
+    // Every property, in declaration order
+    public static final List<String> ALL = Arrays.stream(Part.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .toList();
+
+    private static final Set<String> PROPERTIES = Set.copyOf(ALL);
+
+    private PartProjection() {
+    }
+
+    /**
+     * Resolves the requested view or field list. Returns null when the full entity is wanted.
+     */
+    public static List<String> of(String view, String[] fields) {
+        if (fields != null && fields.length > 0) {
+            List<String> selected = Arrays.stream(fields).map(String::trim).distinct().toList();
+            for (String field : selected) {
+                if (!PROPERTIES.contains(field)) {
+                    throw new InvalidProjectionException("Unknown part field: " + field);
+                }
+            }
+            return selected;
+        }
+        if (view == null || view.equalsIgnoreCase(VIEW_FULL)) {
+            return null;
+        }
+        if (view.equalsIgnoreCase(VIEW_SUMMARY)) {
+            return SUMMARY;
+        }
+        throw new InvalidProjectionException("Unknown part view: " + view);
+    }
+
+    /**
+     * Copies the selected properties of an already loaded part, in the order requested.
+     */
+    public static Map<String, Object> toMap(Part part, List<String> fields) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(part);
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, bean.getPropertyValue(field));
+        }
+        return row;
+    }
+}
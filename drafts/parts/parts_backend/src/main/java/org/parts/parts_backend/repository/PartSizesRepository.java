@@ -2,13 +2,20 @@ package org.parts.parts_backend.repository;
 
 import lombok.NonNull;
 import org.parts.parts_backend.entity.PartSize;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface PartSizesRepository extends JpaRepository<@NonNull PartSize, @NonNull String> {
-    List<PartSize> findByIdContainingIgnoreCase(String keyword, Sort sort);
+    // save() would merge the assigned id and select the row first
+    @Modifying
+    @Query("insert into PartSize (id) values (:id)")
+    int insert(@Param("id") String id);
+
+    @Modifying
+    @Query("delete from PartSize s where s.id = :id")
+    int removeById(@Param("id") String id);
 }
\ No newline at end of file
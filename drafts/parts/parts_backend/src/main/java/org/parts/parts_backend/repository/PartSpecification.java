@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class PartSpecification {
+    private static final char LIKE_ESCAPE = '\\';
 
     public static Specification<@NonNull Part> searchByCriteria(PartSearchDTO search) {
         return (root, query, criteriaBuilder) -> {
@@ -35,11 +36,12 @@ public class PartSpecification {
                 predicates.add(criteriaBuilder.equal(root.get("precisionId"), search.precisionId));
             }
 
-            // Filter by name (case-insensitive partial match)
+            // Filter by name (case-insensitive partial or prefix match)
             if (search.name != null && !search.name.trim().isEmpty()) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("name")),
-                        "%" + search.name.toLowerCase() + "%"
+                        (search.namePrefix ? "" : "%") + escapeLike(lower(search.name)) + "%",
+                        LIKE_ESCAPE
                 ));
             }
 
@@ -48,15 +50,69 @@ public class PartSpecification {
                 predicates.add(criteriaBuilder.equal(root.get("value"), search.value));
             }
 
+            // Filter by value range in base units, served by parts_category_normalized_value_idx
+            if (search.valueFrom != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("normalizedValue"), search.valueFrom));
+            }
+            if (search.valueTo != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("normalizedValue"), search.valueTo));
+            }
+
             // Filter by comment (case-insensitive partial match)
             if (search.comment != null && !search.comment.trim().isEmpty()) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("comment")),
-                        "%" + search.comment.toLowerCase() + "%"
+                        "%" + escapeLike(lower(search.comment)) + "%",
+                        LIKE_ESCAPE
                 ));
             }
 
+            // Filter by availability, served by parts_in_stock_name_idx
+            if (search.inStock) {
+                predicates.add(criteriaBuilder.greaterThan(root.get("quantityNotInUse"), (short) 0));
+            }
+
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Lower-cases text one code point at a time with the simple Unicode case mapping, as lower() does in the
+     * database, independently of the default locale.
+     */
+    public static String lower(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder lower = new StringBuilder(text.length());
+        text.codePoints().map(Character::toLowerCase).forEach(lower::appendCodePoint);
+        return lower.toString();
+    }
+
+    /**
+     * Escapes the LIKE wildcards with a backslash, so that % and _ in a search term match themselves.
+     */
+    public static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    // Keyset condition for (name, id) ordering: rows strictly after the given position.
+    // The leading name >= bound lets the planner start an index range scan at the position.
+    public static Specification<@NonNull Part> after(String name, Integer id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.get("name"), name),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("name"), name),
+                        criteriaBuilder.greaterThan(root.get("id"), id)
+                )
+        );
+    }
 }
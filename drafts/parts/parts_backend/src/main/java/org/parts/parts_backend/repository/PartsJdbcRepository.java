@@ -0,0 +1,225 @@
+package org.parts.parts_backend.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.parts.parts_backend.entity.Part;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based and batched statements on parts that bypass the persistence context.
+ */
+@Repository
+@Timed(value = "parts.repository.invocations", histogram = true)
+public class PartsJdbcRepository {
+    private static final String INSERT = """
+            insert into parts (category_id, size_id, unit_id, precision_id, name, value, quantity, quantity_in_use, comment)
+            values (:categoryId, :sizeId, :unitId, :precisionId, :name, :value, :quantity, :quantityInUse, :comment)
+            """;
+
+    private static final String FIND_ALL_BY_ID = """
+            select * from parts
+            where id = any(cast(:ids as integer[]))
+            """;
+
+    private static final String UPDATE = """
+            update parts
+            set category_id = :categoryId, size_id = :sizeId, unit_id = :unitId, precision_id = :precisionId,
+                name = :name, value = :value, quantity = :quantity, quantity_in_use = :quantityInUse, comment = :comment
+            where id = :id
+            returning *
+            """;
+
+    // One statement for any number of parts: the deltas are joined in as unnested arrays
+    private static final String ADJUST_QUANTITIES = """
+            update parts p
+            set quantity = p.quantity + d.quantity_delta,
+                quantity_in_use = p.quantity_in_use + d.quantity_in_use_delta
+            from unnest(cast(:ids as integer[]), cast(:quantityDeltas as integer[]),
+                        cast(:quantityInUseDeltas as integer[])) as d(id, quantity_delta, quantity_in_use_delta)
+            where p.id = d.id
+            returning p.*
+            """;
+
+    private static final String DELETE_ALL = """
+            delete from parts
+            where id = any(cast(:ids as integer[]))
+            returning id
+            """;
+
+    // The condition is re-checked on the locked row, so concurrent reservations cannot overbook a part
+    private static final String RESERVE = """
+            update parts
+            set quantity_in_use = quantity_in_use + :quantity
+            where id = :id and quantity_in_use + :quantity <= quantity
+            returning *
+            """;
+
+    private static final String RELEASE = """
+            update parts
+            set quantity_in_use = quantity_in_use - :quantity
+            where id = :id and quantity_in_use >= :quantity
+            returning *
+            """;
+
+    // Transactions with ids below the snapshot xmin have all finished, so revisions below it are final
+    private static final String WATERMARK = "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String CHANGED = """
+            select * from parts
+            where revision >= :since and revision < :until
+            order by revision, id
+            """;
+
+    private static final String DELETED = """
+            select id from parts_deleted
+            where revision >= :since and revision < :until
+            order by revision, id
+            """;
+
+    private static final String HORIZON = "select revision from parts_changes_horizon";
+
+    // Moves the horizon past every pruned tombstone, in the same transaction as the prune
+    private static final String PRUNE_DELETED = """
+            with pruned as (
+                delete from parts_deleted
+                where deleted_at < now() - make_interval(hours => :retentionHours)
+                returning revision
+            )
+            update parts_changes_horizon
+            set revision = greatest(revision, (select max(revision) + 1 from pruned))
+            returning (select count(*) from pruned)
+            """;
+
+    private static final RowMapper<Part> PART_MAPPER = new BeanPropertyRowMapper<>(Part.class);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    PartsJdbcRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Inserts all parts as one JDBC batch and returns the stored rows in the same order.
+     * Unlike the given parts, they carry the columns set by the database (revision, normalized_value).
+     */
+    public List<Part> insertAll(List<Part> parts) {
+        SqlParameterSource[] rows = parts.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(INSERT, rows, keys, new String[]{"id"});
+        Integer[] ids = keys.getKeyList().stream()
+                .map(key -> ((Number) key.get("id")).intValue())
+                .toArray(Integer[]::new);
+        // Batched statements cannot return whole rows, so the trigger-set columns are read back in one query
+        Map<Integer, Part> stored = jdbc.query(FIND_ALL_BY_ID, new MapSqlParameterSource("ids", ids), PART_MAPPER)
+                .stream()
+                .collect(Collectors.toMap(Part::getId, Function.identity()));
+        return Arrays.stream(ids).map(stored::get).toList();
+    }
+
+    /**
+     * Overwrites all columns of the part with the given id. Empty when the part does not exist.
+     * The returned row carries the recomputed quantity_not_in_use.
+     */
+    public Optional<Part> update(Part part) {
+        return jdbc.query(UPDATE, new BeanPropertySqlParameterSource(part), PART_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * Adds the deltas to quantity and quantity_in_use of each part in a single UPDATE.
+     * Ids must be distinct. Returns the updated rows; ids that do not exist are absent.
+     */
+    public List<Part> adjustQuantities(Integer[] ids, Integer[] quantityDeltas, Integer[] quantityInUseDeltas) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("quantityDeltas", quantityDeltas)
+                .addValue("quantityInUseDeltas", quantityInUseDeltas);
+        return jdbc.query(ADJUST_QUANTITIES, params, PART_MAPPER);
+    }
+
+    /**
+     * Moves quantity units of the part into use. Empty when the part does not exist or not enough units are free.
+     */
+    public Optional<Part> reserve(Integer id, int quantity) {
+        return updateInUse(RESERVE, id, quantity);
+    }
+
+    /**
+     * Returns quantity units of the part from use. Empty when the part does not exist or fewer units are in use.
+     */
+    public Optional<Part> release(Integer id, int quantity) {
+        return updateInUse(RELEASE, id, quantity);
+    }
+
+    private Optional<Part> updateInUse(String sql, Integer id, int quantity) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("quantity", quantity);
+        return jdbc.query(sql, params, PART_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * Revision up to which all changes are committed: every later change gets a revision at or above it.
+     */
+    public long watermark() {
+        return jdbc.getJdbcTemplate().queryForObject(WATERMARK, Long.class);
+    }
+
+    /**
+     * Parts inserted or updated with a revision in [since, until).
+     */
+    public List<Part> findChanged(long since, long until) {
+        return jdbc.query(CHANGED, revisions(since, until), PART_MAPPER);
+    }
+
+    /**
+     * Ids of parts deleted with a revision in [since, until).
+     */
+    public List<Integer> findDeleted(long since, long until) {
+        return jdbc.queryForList(DELETED, revisions(since, until), Integer.class);
+    }
+
+    /**
+     * Lowest revision from which {@link #findDeleted} still returns every deletion.
+     */
+    public long horizon() {
+        return jdbc.getJdbcTemplate().queryForObject(HORIZON, Long.class);
+    }
+
+    /**
+     * Forgets deletions older than the retention period and raises the horizon past them.
+     * Returns the number of tombstones removed.
+     */
+    public long pruneDeleted(int retentionHours) {
+        return jdbc.queryForObject(PRUNE_DELETED, new MapSqlParameterSource("retentionHours", retentionHours),
+                Long.class);
+    }
+
+    private static MapSqlParameterSource revisions(long since, long until) {
+        return new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("until", until);
+    }
+
+    /**
+     * Deletes the parts in a single statement and returns the ids that existed.
+     */
+    public List<Integer> deleteAll(Integer[] ids) {
+        return jdbc.queryForList(DELETE_ALL, new MapSqlParameterSource("ids", ids), Integer.class);
+    }
+}
@@ -0,0 +1,111 @@
+package org.parts.parts_backend.repository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.NonNull;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.parts.parts_backend.entity.Part;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Criteria queries that do not fit a Spring Data repository interface.
+ */
+@Repository
+@Timed(value = "parts.repository.invocations", histogram = true)
+public class PartsQueryRepository {
+    private final SessionFactory sessionFactory;
+
+    PartsQueryRepository(EntityManagerFactory entityManagerFactory) {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Streams matching parts through a server-side cursor, fetching {@code fetchSize} rows at a time.
+     * The stream owns its stateless session and transaction, so it can be consumed from any thread,
+     * and it must be closed by the caller.
+     */
+    public Stream<Part> stream(Specification<@NonNull Part> spec, Sort sort, int fetchSize) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction transaction = session.beginTransaction();
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<Part> query = criteriaBuilder.createQuery(Part.class);
+            Root<Part> root = query.from(Part.class);
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+            return session.createSelectionQuery(query)
+                    .setFetchSize(fetchSize)
+                    .getResultStream()
+                    .onClose(() -> close(session, transaction));
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #stream}, but selects only the given part properties, so no entities are hydrated.
+     * Each row maps the property names to their values, in the order requested.
+     */
+    public Stream<Map<String, Object>> streamFields(Specification<@NonNull Part> spec, Sort sort, List<String> fields,
+                                                    int fetchSize) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction transaction = session.beginTransaction();
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+            Root<Part> root = query.from(Part.class);
+            query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList());
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+            return session.createSelectionQuery(query)
+                    .setFetchSize(fetchSize)
+                    .getResultStream()
+                    .map(tuple -> toMap(tuple, fields))
+                    .onClose(() -> close(session, transaction));
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+
+    private static void close(StatelessSession session, Transaction transaction) {
+        try {
+            if (transaction.isActive()) {
+                transaction.commit();
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
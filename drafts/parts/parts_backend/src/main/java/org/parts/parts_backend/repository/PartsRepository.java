@@ -1,15 +1,45 @@
 package org.parts.parts_backend.repository;
 
+import jakarta.persistence.QueryHint;
 import lombok.NonNull;
 import org.parts.parts_backend.entity.Part;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface PartsRepository extends JpaRepository<@NonNull Part, @NonNull Integer> {
+public interface PartsRepository extends JpaRepository<@NonNull Part, @NonNull Integer>,
+        JpaSpecificationExecutor<@NonNull Part> {
+    // Lists can be large: load them without dirty-checking snapshots and in fewer round trips
+    @QueryHints({@QueryHint(name = HINT_READ_ONLY, value = "true"), @QueryHint(name = HINT_FETCH_SIZE, value = "500")})
     List<Part> findAll(Specification<@NonNull Part> search, Sort sort);
+
+    // Fuzzy name search ranked by trigram similarity, served by parts_name_trgm_idx
+    @Query(value = """
+            select * from parts
+            where lower(name) % lower(:term) or lower(name) like '%' || lower(:term) || '%'
+            order by similarity(lower(name), lower(:term)) desc, name
+            limit :limit
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Transactional(readOnly = true)
+    List<Part> searchRanked(@Param("term") String term, @Param("limit") int limit);
+
+    List<Part> findByUnitId(String unitId);
+
+    @Modifying
+    @Query("delete from Part p where p.id = :id")
+    int removeById(@Param("id") Integer id);
 }
\ No newline at end of file
@@ -2,14 +2,21 @@ package org.parts.parts_backend.repository;
 
 import lombok.NonNull;
 import org.parts.parts_backend.entity.Precision;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Repository
 public interface PrecisionsRepository extends JpaRepository<@NonNull Precision, @NonNull Integer> {
-    List<Precision> findByValue(BigDecimal value);
+    @Modifying
+    @Query("update Precision p set p.value = :value where p.id = :id")
+    int updateValue(@Param("id") Integer id, @Param("value") BigDecimal value);
+
+    @Modifying
+    @Query("delete from Precision p where p.id = :id")
+    int removeById(@Param("id") Integer id);
 }
@@ -2,15 +2,26 @@ package org.parts.parts_backend.repository;
 
 import lombok.NonNull;
 import org.parts.parts_backend.entity.Unit;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Repository
 public interface UnitsRepository extends JpaRepository<@NonNull Unit, @NonNull String> {
-    List<Unit> findByIdContainingIgnoreCase(String keyword, Sort sort);
-    List<Unit> findByMultiplier(BigDecimal value);
+    // save() would merge the assigned id and select the row first
+    @Modifying
+    @Query("insert into Unit (id, multiplier) values (:id, :multiplier)")
+    int insert(@Param("id") String id, @Param("multiplier") BigDecimal multiplier);
+
+    @Modifying
+    @Query("update Unit u set u.multiplier = :multiplier where u.id = :id")
+    int updateMultiplier(@Param("id") String id, @Param("multiplier") BigDecimal multiplier);
+
+    @Modifying
+    @Query("delete from Unit u where u.id = :id")
+    int removeById(@Param("id") String id);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.parts.parts_backend.repository.r2dbc;
+
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.repository.PartProjection;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Profile("r2dbc")
+public class PartsR2dbcRepository extends R2dbcReadRepository<Part> {
+    PartsR2dbcRepository(R2dbcEntityTemplate template) {
+        super(template, Part.class, "parts");
+    }
+
+    public Flux<Part> find(PartSearchDTO search) {
+        return findAll(R2dbcPartSpecification.searchByCriteria(search), Sort.by(Sort.Direction.ASC, "name"));
+    }
+
+    public Flux<Map<String, Object>> find(PartSearchDTO search, List<String> fields) {
+        return findAll(R2dbcPartSpecification.searchByCriteria(search), Sort.by(Sort.Direction.ASC, "name"), fields)
+                .map(part -> PartProjection.toMap(part, fields));
+    }
+
+    public Mono<Part> findById(Integer id) {
+        return findOne(Criteria.where("id").is(id));
+    }
+}
@@ -0,0 +1,67 @@
+package org.parts.parts_backend.repository.r2dbc;
+
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.springframework.data.relational.core.query.Criteria;
+
+/**
+ * R2DBC counterpart of {@link org.parts.parts_backend.repository.PartSpecification}.
+ * Both must apply the same filters.
+ */
+public class R2dbcPartSpecification {
+
+    public static Criteria searchByCriteria(PartSearchDTO search) {
+        Criteria criteria = Criteria.empty();
+
+        // Filter by category IDs
+        if (search.categoryIds != null && !search.categoryIds.isEmpty()) {
+            criteria = criteria.and("categoryId").in(search.categoryIds);
+        }
+
+        // Filter by size IDs
+        if (search.sizeIds != null && !search.sizeIds.isEmpty()) {
+            criteria = criteria.and("sizeId").in(search.sizeIds);
+        }
+
+        // Filter by unit IDs
+        if (search.unitIds != null && !search.unitIds.isEmpty()) {
+            criteria = criteria.and("unitId").in(search.unitIds);
+        }
+
+        // Filter by precision ID
+        if (search.precisionId != null) {
+            criteria = criteria.and("precisionId").is(search.precisionId);
+        }
+
+        // Filter by name (case-insensitive partial or prefix match)
+        if (search.name != null && !search.name.trim().isEmpty()) {
+            criteria = criteria.and(search.namePrefix
+                    ? R2dbcReadRepository.startingWithIgnoreCase("name", search.name)
+                    : R2dbcReadRepository.containingIgnoreCase("name", search.name));
+        }
+
+        // Filter by value
+        if (search.value != null) {
+            criteria = criteria.and("value").is(search.value);
+        }
+
+        // Filter by value range in base units
+        if (search.valueFrom != null) {
+            criteria = criteria.and("normalizedValue").greaterThanOrEquals(search.valueFrom);
+        }
+        if (search.valueTo != null) {
+            criteria = criteria.and("normalizedValue").lessThanOrEquals(search.valueTo);
+        }
+
+        // Filter by comment (case-insensitive partial match)
+        if (search.comment != null && !search.comment.trim().isEmpty()) {
+            criteria = criteria.and(R2dbcReadRepository.containingIgnoreCase("comment", search.comment));
+        }
+
+        // Filter by availability
+        if (search.inStock) {
+            criteria = criteria.and("quantityNotInUse").greaterThan(0);
+        }
+
+        return criteria;
+    }
+}
@@ -0,0 +1,53 @@
+package org.parts.parts_backend.repository.r2dbc;
+
+import org.parts.parts_backend.repository.PartSpecification;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+abstract class R2dbcReadRepository<T> {
+    private final R2dbcEntityTemplate template;
+    private final Class<T> type;
+    private final String table;
+
+    R2dbcReadRepository(R2dbcEntityTemplate template, Class<T> type, String table) {
+        this.template = template;
+        this.type = type;
+        this.table = table;
+    }
+
+    Flux<T> findAll(Criteria criteria, Sort sort) {
+        return template.select(type)
+                .from(table)
+                .matching(Query.query(criteria).sort(sort))
+                .all();
+    }
+
+    Flux<T> findAll(Criteria criteria, Sort sort, List<String> columns) {
+        return template.select(type)
+                .from(table)
+                .matching(Query.query(criteria).columns(columns).sort(sort))
+                .all();
+    }
+
+    Mono<T> findOne(Criteria criteria) {
+        return template.select(type)
+                .from(table)
+                .matching(Query.query(criteria))
+                .one();
+    }
+
+    // The keyword is matched literally; backslash is the default LIKE escape character in Postgres
+    static Criteria containingIgnoreCase(String column, String keyword) {
+        return Criteria.where(column).like("%" + PartSpecification.escapeLike(keyword) + "%").ignoreCase(true);
+    }
+
+    static Criteria startingWithIgnoreCase(String column, String keyword) {
+        return Criteria.where(column).like(PartSpecification.escapeLike(keyword) + "%").ignoreCase(true);
+    }
+}
@@ -0,0 +1,423 @@
+package org.parts.parts_backend.search;
+
+import jakarta.annotation.PreDestroy;
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartSpecification;
+import org.parts.parts_backend.repository.PartsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index answering {@link PartSearchDTO} searches without a database round-trip.
+ * <p>
+ * Each part version occupies a document slot. Name and comment are indexed as trigram posting
+ * lists of slots; the other filters are bitsets over slots, so a search is a series of bitset
+ * intersections followed by a substring check of the surviving candidates. An update gives the
+ * part a new slot and retires the old one, which keeps every posting list sorted and append-only;
+ * retired slots are reclaimed by compaction once they outnumber live ones.
+ * <p>
+ * Results are the ones {@link PartSpecification} selects, in the database's name order: text is
+ * lower-cased and matched literally as there, and names are compared by code point.
+ * <p>
+ * The index is built from the database when the application starts and then follows committed
+ * changes through {@link DataChangedEvent}s. Until the first build completes, {@link #isReady()}
+ * is false and callers should query the database.
+ */
+@Component
+@ConditionalOnProperty(name = "parts.search-index.enabled", havingValue = "true")
+public class PartsSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(PartsSearchIndex.class);
+    private static final int GRAM = 3;
+
+    private final PartsRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private volatile boolean ready;
+    // Changes seen while a rebuild is loading rows; replayed onto the rebuilt index
+    private List<Change> pending;
+
+    // Full rebuilds requested by changes run here, off the publishing thread
+    private final ScheduledExecutorService rebuilds =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("parts-search-index-rebuild").factory());
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    @Value("${parts.search-index.rebuild-delay-ms:500}")
+    private long rebuildDelayMillis;
+
+    PartsSearchIndex(PartsRepository repository) {
+        this.repository = repository;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Synchronized because a rebuild requested by a change may overlap the startup one
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Part> parts = repository.findAll();
+        // Built outside the lock, so writers only wait for the changes made meanwhile to be replayed
+        Index rebuilt = new Index();
+        for (Part part : parts) {
+            rebuilt.put(copyOf(part));
+        }
+        lock.writeLock().lock();
+        try {
+            for (Change change : pending) {
+                change.applyTo(rebuilt);
+            }
+            index = rebuilt;
+            pending = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Parts search index built with {} parts", parts.size());
+    }
+
+    public List<Part> search(PartSearchDTO search) {
+        lock.readLock().lock();
+        try {
+            return index.search(search);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Part> findById(Integer id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(index.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        // A new unit multiplier arrives as updates of the unit's parts, see UnitsService.update
+        if (event.getTable() != DataTable.PARTS) {
+            return;
+        }
+        if (event.getId() == null) {
+            // A truncate or missed notifications, see DatabaseChangeListener: any part may have changed
+            requestRebuild();
+            return;
+        }
+        Integer id = (Integer) event.getId();
+        Part part = null;
+        if (event.getType() != ChangeType.DELETE) {
+            // Remote or set-based changes carry no entity; read the committed row
+            part = event.getEntity() instanceof Part changed ? changed : repository.findById(id).orElse(null);
+        }
+        apply(List.of(new Change(id, part == null ? null : copyOf(part))));
+    }
+
+    private void apply(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                change.applyTo(index);
+                if (pending != null) {
+                    pending.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Requests arriving before a scheduled rebuild starts are served by it
+    private void requestRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilds.schedule(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Parts search index rebuild failed, serving the previous index", e);
+                }
+            }, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Detaches the indexed state from the caller's entity and fills the database-generated column
+    private static Part copyOf(Part part) {
+        Part copy = new Part();
+        copy.setId(part.getId());
+        copy.setCategoryId(part.getCategoryId());
+        copy.setSizeId(part.getSizeId());
+        copy.setUnitId(part.getUnitId());
+        copy.setPrecisionId(part.getPrecisionId());
+        copy.setName(part.getName());
+        copy.setValue(part.getValue());
+        copy.setQuantity(part.getQuantity());
+        copy.setQuantityInUse(part.getQuantityInUse());
+        copy.setQuantityNotInUse(part.getQuantity() == null || part.getQuantityInUse() == null
+                ? part.getQuantityNotInUse()
+                : Short.valueOf((short) (part.getQuantity() - part.getQuantityInUse())));
+        copy.setComment(part.getComment());
+        copy.setRevision(part.getRevision());
+        copy.setNormalizedValue(part.getNormalizedValue());
+        return copy;
+    }
+
+    // Order of the pg_c_utf8 collation of parts.name (migration V10). String.compareTo compares UTF-16
+    // units instead, which puts characters above U+FFFF before U+E000..U+FFFF.
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    // Indexed part state, or a deletion when part is null
+    private record Change(Integer id, Part part) {
+        void applyTo(Index index) {
+            if (part == null) {
+                index.remove(id);
+            } else {
+                index.put(part);
+            }
+        }
+    }
+
+    private static final class Index {
+        private Part[] docs = new Part[1024];
+        private String[] names = new String[1024];
+        private String[] comments = new String[1024];
+        private int slots;
+        private final BitSet live = new BitSet();
+        private final Map<Integer, Integer> slotById = new HashMap<>();
+        private final Map<String, IntList> nameGrams = new HashMap<>();
+        private final Map<String, IntList> commentGrams = new HashMap<>();
+        private final Map<Integer, BitSet> byCategory = new HashMap<>();
+        private final Map<String, BitSet> bySize = new HashMap<>();
+        private final Map<String, BitSet> byUnit = new HashMap<>();
+        private final Map<Integer, BitSet> byPrecision = new HashMap<>();
+        private final Map<BigDecimal, BitSet> byValue = new HashMap<>();
+
+        Part get(Integer id) {
+            Integer slot = slotById.get(id);
+            return slot == null ? null : docs[slot];
+        }
+
+        void put(Part part) {
+            remove(part.getId());
+            if (slots == docs.length) {
+                docs = Arrays.copyOf(docs, slots * 2);
+                names = Arrays.copyOf(names, slots * 2);
+                comments = Arrays.copyOf(comments, slots * 2);
+            }
+            int slot = slots++;
+            docs[slot] = part;
+            names[slot] = lower(part.getName());
+            comments[slot] = lower(part.getComment());
+            live.set(slot);
+            slotById.put(part.getId(), slot);
+            addGrams(nameGrams, names[slot], slot);
+            addGrams(commentGrams, comments[slot], slot);
+            mark(byCategory, part.getCategoryId(), slot);
+            mark(bySize, part.getSizeId(), slot);
+            mark(byUnit, part.getUnitId(), slot);
+            mark(byPrecision, part.getPrecisionId(), slot);
+            mark(byValue, valueKey(part.getValue()), slot);
+        }
+
+        void remove(Integer id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            live.clear(slot);
+            docs[slot] = null;
+            if (slots - live.cardinality() > Math.max(1024, live.cardinality())) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            Index compacted = new Index();
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                compacted.put(docs[slot]);
+            }
+            docs = compacted.docs;
+            names = compacted.names;
+            comments = compacted.comments;
+            slots = compacted.slots;
+            live.clear();
+            live.or(compacted.live);
+            replace(slotById, compacted.slotById);
+            replace(nameGrams, compacted.nameGrams);
+            replace(commentGrams, compacted.commentGrams);
+            replace(byCategory, compacted.byCategory);
+            replace(bySize, compacted.bySize);
+            replace(byUnit, compacted.byUnit);
+            replace(byPrecision, compacted.byPrecision);
+            replace(byValue, compacted.byValue);
+        }
+
+        List<Part> search(PartSearchDTO search) {
+            BitSet matches = (BitSet) live.clone();
+            if (search.categoryIds != null && !search.categoryIds.isEmpty()) {
+                matches.and(union(byCategory, search.categoryIds));
+            }
+            if (search.sizeIds != null && !search.sizeIds.isEmpty()) {
+                matches.and(union(bySize, search.sizeIds));
+            }
+            if (search.unitIds != null && !search.unitIds.isEmpty()) {
+                matches.and(union(byUnit, search.unitIds));
+            }
+            if (search.precisionId != null) {
+                matches.and(union(byPrecision, List.of(search.precisionId)));
+            }
+            if (search.value != null) {
+                matches.and(union(byValue, List.of(valueKey(search.value))));
+            }
+            if (search.name != null && !search.name.trim().isEmpty()) {
+                String term = PartSpecification.lower(search.name);
+                matchText(matches, nameGrams, names, term, search.namePrefix);
+            }
+            if (search.comment != null && !search.comment.trim().isEmpty()) {
+                String term = PartSpecification.lower(search.comment);
+                matchText(matches, commentGrams, comments, term, false);
+            }
+            List<Part> result = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                Part part = docs[slot];
+                if ((!search.inStock || part.getQuantityNotInUse() > 0) && inRange(part.getNormalizedValue(), search)) {
+                    result.add(part);
+                }
+            }
+            result.sort(Comparator.comparing(Part::getName, PartsSearchIndex::compareCodePoints));
+            return result;
+        }
+
+        // Narrows matches to slots whose text contains (or starts with) term:
+        // trigram postings prune the candidates, then each survivor is checked exactly
+        private void matchText(BitSet matches, Map<String, IntList> grams, String[] texts, String term,
+                               boolean prefix) {
+            for (String gram : grams(term)) {
+                IntList posting = grams.get(gram);
+                if (posting == null) {
+                    matches.clear();
+                    return;
+                }
+                BitSet candidates = new BitSet(slots);
+                for (int i = 0; i < posting.size(); i++) {
+                    candidates.set(posting.get(i));
+                }
+                matches.and(candidates);
+            }
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                String text = texts[slot];
+                if (text == null || !(prefix ? text.startsWith(term) : text.contains(term))) {
+                    matches.clear(slot);
+                }
+            }
+        }
+
+        private static void addGrams(Map<String, IntList> grams, String text, int slot) {
+            if (text == null) {
+                return;
+            }
+            for (String gram : grams(text)) {
+                grams.computeIfAbsent(gram, key -> new IntList()).add(slot);
+            }
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+
+        private static <K> void mark(Map<K, BitSet> bitsets, K key, int slot) {
+            if (key != null) {
+                bitsets.computeIfAbsent(key, k -> new BitSet()).set(slot);
+            }
+        }
+
+        private static <K> BitSet union(Map<K, BitSet> bitsets, List<K> keys) {
+            BitSet union = new BitSet();
+            for (K key : keys) {
+                BitSet bits = bitsets.get(key);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            return union;
+        }
+
+        private static <K, V> void replace(Map<K, V> target, Map<K, V> source) {
+            target.clear();
+            target.putAll(source);
+        }
+
+        private static boolean inRange(BigDecimal value, PartSearchDTO search) {
+            if (search.valueFrom == null && search.valueTo == null) {
+                return true;
+            }
+            return value != null
+                    && (search.valueFrom == null || value.compareTo(search.valueFrom) >= 0)
+                    && (search.valueTo == null || value.compareTo(search.valueTo) <= 0);
+        }
+
+        private static BigDecimal valueKey(BigDecimal value) {
+            return value == null ? null : value.stripTrailingZeros();
+        }
+
+        private static String lower(String text) {
+            return PartSpecification.lower(text);
+        }
+    }
+}
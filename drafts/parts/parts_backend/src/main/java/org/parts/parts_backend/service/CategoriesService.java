@@ -2,7 +2,11 @@ package org.parts.parts_backend.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.parts.parts_backend.entity.Category;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.repository.CategoriesRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,43 +16,55 @@ import java.util.List;
 @Service
 public class CategoriesService {
     private final CategoriesRepository repository;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<Category> cache;
 
-    CategoriesService(CategoriesRepository repository) {
+    CategoriesService(CategoriesRepository repository, ApplicationEventPublisher events, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.events = events;
+        this.cache = caches.create(DataTable.CATEGORIES);
     }
 
     public List<Category> findAll() {
-        return repository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+        return cache.get(() -> repository.findAll(Sort.by(Sort.Direction.ASC, "name")));
     }
 
     public List<Category> findByNameContainingIgnoreCase(String searchString) {
-        return repository.findByNameContainingIgnoreCase(searchString, Sort.by(Sort.Direction.ASC, "name"));
+        String keyword = searchString.toLowerCase();
+        return findAll().stream()
+                .filter(category -> category.getName().toLowerCase().contains(keyword))
+                .toList();
     }
 
     public Category findById(int id) {
-        return repository.findById(id)
+        return findAll().stream()
+                .filter(category -> category.getId() == id)
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Category not found: " + id));
     }
 
     @Transactional
     public Category insert(String name) {
         Category category = new Category(name);
-        return repository.save(category);
+        Category saved = repository.save(category);
+        events.publishEvent(new DataChangedEvent(DataTable.CATEGORIES, ChangeType.INSERT, saved.getId(), saved));
+        return saved;
     }
 
     @Transactional
     public Category update(Category category) {
-        if (!repository.existsById(category.getId())) {
+        if (repository.updateName(category.getId(), category.getName()) == 0) {
             throw new EntityNotFoundException("Category not found: " + category.getId());
         }
-        return repository.save(category);
+        events.publishEvent(new DataChangedEvent(DataTable.CATEGORIES, ChangeType.UPDATE, category.getId(), category));
+        return category;
     }
 
     @Transactional
     public void delete(int id) {
-        if (!repository.existsById(id)) {
+        if (repository.removeById(id) == 0) {
             throw new EntityNotFoundException("Category not found: " + id);
         }
-        repository.deleteById(id);
+        events.publishEvent(new DataChangedEvent(DataTable.CATEGORIES, ChangeType.DELETE, id, null));
     }
 }
@@ -0,0 +1,89 @@
+package org.parts.parts_backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.parts.parts_backend.dto.ChangeEventDTO;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multicasts committed data changes to live subscribers. Each subscriber gets its own bounded buffer;
+ * a subscriber that falls further behind than that is terminated with an error instead of slowing
+ * down the others or the writers, and has to resync.
+ * <p>
+ * Changes are collected over a short window. A table with more changes than the threshold in a window
+ * (a bulk import, a bulk delete, a quantity adjustment) is sent as one change without an id, so clients
+ * sync once instead of receiving, and falling behind on, one message per row.
+ */
+@Component
+public class ChangeFeed {
+    private final Sinks.Many<ChangeEventDTO> sink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<DataChangedEvent> committed = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable coalescing;
+
+    @Value("${events.subscriber-buffer-size:256}")
+    private int subscriberBufferSize;
+
+    @Value("${events.coalesce-threshold:20}")
+    private int coalesceThreshold;
+
+    ChangeFeed(@Value("${events.coalesce-window-ms:200}") long coalesceWindowMillis) {
+        coalescing = committed.asFlux()
+                .buffer(Duration.ofMillis(coalesceWindowMillis))
+                .flatMapIterable(this::coalesce)
+                .subscribe(sink::tryEmitNext);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coalescing.dispose();
+    }
+
+    public Flux<ChangeEventDTO> subscribe() {
+        return sink.asFlux().onBackpressureBuffer(subscriberBufferSize, BufferOverflowStrategy.ERROR);
+    }
+
+    public int getSubscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    // Writers commit on many threads; the sink needs its emissions serialized
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDataChanged(DataChangedEvent event) {
+        committed.tryEmitNext(event);
+    }
+
+    private List<ChangeEventDTO> coalesce(List<DataChangedEvent> window) {
+        Map<DataTable, List<DataChangedEvent>> byTable = new EnumMap<>(DataTable.class);
+        for (DataChangedEvent event : window) {
+            byTable.computeIfAbsent(event.getTable(), table -> new ArrayList<>()).add(event);
+        }
+        List<ChangeEventDTO> coalesced = new ArrayList<>();
+        byTable.forEach((table, changes) -> {
+            if (changes.size() <= coalesceThreshold && changes.stream().allMatch(change -> change.getId() != null)) {
+                for (DataChangedEvent change : changes) {
+                    coalesced.add(new ChangeEventDTO(table, change.getType(), change.getId(), change.getEntity()));
+                }
+                return;
+            }
+            // A delete without an id (a truncate) cannot be synced by delta and keeps asking for a reload
+            boolean reload = changes.stream()
+                    .anyMatch(change -> change.getId() == null && change.getType() == ChangeType.DELETE);
+            coalesced.add(new ChangeEventDTO(table, reload ? ChangeType.DELETE : ChangeType.UPDATE, null, null));
+        });
+        return coalesced;
+    }
+}
@@ -0,0 +1,57 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic per-table version counters, bumped after every committed write.
+ * The entity tags also carry a random per-process epoch, so tags issued before a restart never match.
+ */
+@Component
+public class DataVersions {
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Map<DataTable, AtomicLong> versions = new EnumMap<>(DataTable.class);
+
+    DataVersions() {
+        for (DataTable table : DataTable.values()) {
+            versions.put(table, new AtomicLong());
+        }
+    }
+
+    public long version(DataTable table) {
+        return versions.get(table).get();
+    }
+
+    /**
+     * Entity tag of a response built from the given tables.
+     * Must be taken before the data is read, so that the tag is never newer than the body.
+     */
+    public String etag(DataTable... tables) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (DataTable table : tables) {
+            etag.append('-').append(version(table));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Entity tag of one of several representations of a response built from the given tables,
+     * e.g. a media type or a projection. The representation is folded into the tag as a hash.
+     */
+    public String etag(String representation, DataTable... tables) {
+        String etag = etag(tables);
+        return etag.substring(0, etag.length() - 1) + '-' + Integer.toHexString(representation.hashCode()) + '"';
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        versions.get(event.getTable()).incrementAndGet();
+    }
+}
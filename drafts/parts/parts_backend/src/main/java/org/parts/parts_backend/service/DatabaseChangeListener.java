@@ -0,0 +1,197 @@
+package org.parts.parts_backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Keeps this instance coherent with writes made elsewhere: by other instances or by SQL run directly
+ * against the database. The triggers of migration V6 announce every committed write on the
+ * {@code data_changed} channel; each one not made by this instance is republished as a
+ * {@link DataChangedEvent} without an entity, so caches, versions, the search index and the change feed
+ * react exactly as they do to a local write.
+ * <p>
+ * The listener holds its own connection outside the pool. Notifications sent while it is disconnected
+ * are lost, so after a reconnect every table is treated as changed.
+ */
+@Component
+@ConditionalOnProperty(name = "parts.change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseChangeListener.class);
+    private static final String CHANNEL = "data_changed";
+
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper mapper;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${parts.change-notifications.poll-ms:10000}")
+    private int pollMillis;
+
+    @Value("${parts.change-notifications.reconnect-ms:5000}")
+    private long reconnectMillis;
+
+    // application_name of the pooled connections, which the triggers report as the origin of a change
+    private String origin;
+    private volatile boolean running;
+    private Thread thread;
+
+    DatabaseChangeListener(ApplicationEventPublisher events, JdbcTemplate jdbcTemplate, JsonMapper mapper) {
+        this.events = events;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+    }
+
+    // Listens before the search index is built, so a change committed during the build is not missed
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        origin = jdbcTemplate.queryForObject("select current_setting('application_name')", String.class);
+        running = true;
+        Connection connection = null;
+        try {
+            connection = listen();
+        } catch (SQLException e) {
+            log.warn("Cannot listen for database changes, retrying in the background: {}", e.getMessage());
+        }
+        Connection listening = connection;
+        thread = Thread.ofVirtual().name("database-change-listener").start(() -> run(listening));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run(Connection connection) {
+        while (running) {
+            if (connection != null) {
+                try (Connection listening = connection) {
+                    receive(listening);
+                } catch (SQLException e) {
+                    if (running) {
+                        log.warn("Lost the database change notification connection: {}", e.getMessage());
+                    }
+                }
+            }
+            connection = reconnect();
+            if (connection != null) {
+                // Whatever was committed while disconnected went unannounced
+                for (DataTable table : DataTable.values()) {
+                    publish(new DataChangedEvent(table, ChangeType.UPDATE, null, null));
+                }
+            }
+        }
+    }
+
+    private Connection reconnect() {
+        while (running) {
+            try {
+                Thread.sleep(reconnectMillis);
+                Connection connection = listen();
+                log.info("Listening for database changes again");
+                return connection;
+            } catch (SQLException e) {
+                log.debug("Database change listener reconnect failed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Connection listen() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", origin + "-listener");
+        Connection connection = DriverManager.getConnection(url, properties);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(pollMillis);
+            if (received == null || received.length == 0) {
+                // A half-open connection would otherwise wait for notifications forever
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : received) {
+                dispatch(notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            JsonNode change = mapper.readTree(payload);
+            if (origin.equals(change.path("origin").asString())) {
+                return;
+            }
+            DataTable table = DataTable.valueOf(change.path("table").asString());
+            ChangeType type = ChangeType.valueOf(change.path("type").asString());
+            JsonNode ids = change.path("ids");
+            if (!ids.isArray()) {
+                // The whole table may have changed
+                publish(new DataChangedEvent(table, type, null, null));
+                return;
+            }
+            for (JsonNode id : ids) {
+                publish(new DataChangedEvent(table, type, id.asInt(), null));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot apply database change notification {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void publish(DataChangedEvent event) {
+        try {
+            events.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("Cannot apply database change {} {}: {}", event.getTable(), event.getId(), e.getMessage());
+        }
+    }
+}
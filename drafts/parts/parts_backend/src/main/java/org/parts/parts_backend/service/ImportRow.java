@@ -0,0 +1,17 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.entity.Part;
+
+/**
+ * One row of a bulk import: either a parsed part or the reason it could not be parsed.
+ */
+public record ImportRow(long row, Part part, String error) {
+
+    public static ImportRow of(long row, Part part) {
+        return new ImportRow(row, part, null);
+    }
+
+    public static ImportRow failed(long row, String error) {
+        return new ImportRow(row, null, error);
+    }
+}
@@ -0,0 +1,81 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.entity.Part;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps CSV lines to parts using the column order given by the header line.
+ * Column names are the {@link Part} property names; case and underscores are ignored,
+ * so both {@code categoryId} and {@code category_id} are accepted.
+ */
+public class PartCsvFormat {
+    private final List<String> columns;
+
+    public PartCsvFormat(String header) {
+        columns = split(header).stream()
+                .map(column -> column.trim().replace("_", "").toLowerCase())
+                .toList();
+    }
+
+    public ImportRow parse(long row, String line) {
+        List<String> values = split(line);
+        if (values.size() != columns.size()) {
+            return ImportRow.failed(row, "Expected " + columns.size() + " columns, found " + values.size());
+        }
+        Part part = new Part();
+        try {
+            for (int i = 0; i < columns.size(); i++) {
+                String value = values.get(i).isEmpty() ? null : values.get(i);
+                switch (columns.get(i)) {
+                    case "categoryid" -> part.setCategoryId(value == null ? null : Integer.valueOf(value.trim()));
+                    case "sizeid" -> part.setSizeId(value);
+                    case "unitid" -> part.setUnitId(value);
+                    case "precisionid" -> part.setPrecisionId(value == null ? null : Integer.valueOf(value.trim()));
+                    case "name" -> part.setName(value);
+                    case "value" -> part.setValue(value == null ? null : new BigDecimal(value.trim()));
+                    case "quantity" -> part.setQuantity(value == null ? null : Short.valueOf(value.trim()));
+                    case "quantityinuse" -> part.setQuantityInUse(value == null ? (short) 0 : Short.valueOf(value.trim()));
+                    case "comment" -> part.setComment(value);
+                    default -> {
+                        // Unknown columns (id, quantity_not_in_use, ...) are ignored
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(row, "Invalid number: " + e.getMessage());
+        }
+        return ImportRow.of(row, part);
+    }
+
+    // Splits one line on commas; fields may be double-quoted with "" as an escaped quote
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
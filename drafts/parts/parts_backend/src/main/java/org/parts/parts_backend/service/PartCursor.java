@@ -0,0 +1,32 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last part on a page, in (name, id) order. Encoded as an opaque URL-safe string.
+ */
+record PartCursor(String name, Integer id) {
+
+    static PartCursor of(Part part) {
+        return new PartCursor(part.getName(), part.getId());
+    }
+
+    String encode() {
+        String raw = id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PartCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new PartCursor(raw.substring(separator + 1), Integer.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.entity.Part;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Maps the elements of a JSON array to parts one at a time, so that an element that does not
+ * bind to a {@link Part} (a string quantity, an unknown type) fails its own row only.
+ */
+public class PartJsonFormat {
+    private final JsonMapper mapper;
+
+    public PartJsonFormat(JsonMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public ImportRow parse(long row, JsonNode element) {
+        try {
+            return ImportRow.of(row, mapper.treeToValue(element, Part.class));
+        } catch (JacksonException e) {
+            return ImportRow.failed(row, e.getOriginalMessage());
+        }
+    }
+}
@@ -2,7 +2,11 @@ package org.parts.parts_backend.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.parts.parts_backend.entity.PartSize;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.repository.PartSizesRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,40 +16,51 @@ import java.util.List;
 @Service
 public class PartSizesService {
     private final PartSizesRepository repository;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<PartSize> cache;
 
-    PartSizesService(PartSizesRepository repository) {
+    PartSizesService(PartSizesRepository repository, ApplicationEventPublisher events, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.events = events;
+        this.cache = caches.create(DataTable.SIZES);
     }
 
     public List<PartSize> findAll() {
-        return repository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+        return cache.get(() -> repository.findAll(Sort.by(Sort.Direction.ASC, "id")));
     }
 
     public List<PartSize> findByIdContainingIgnoreCase(String searchString) {
-        return repository.findByIdContainingIgnoreCase(searchString, Sort.by(Sort.Direction.ASC, "id"));
+        String keyword = searchString.toLowerCase();
+        return findAll().stream()
+                .filter(size -> size.getId().toLowerCase().contains(keyword))
+                .toList();
     }
 
     public PartSize findById(String id) {
-        return repository.findById(id)
+        return findAll().stream()
+                .filter(size -> size.getId().equals(id))
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Part size not found: " + id));
     }
 
     @Transactional
     public void insert(PartSize size) {
-        repository.save(size);
+        repository.insert(size.getId());
+        events.publishEvent(new DataChangedEvent(DataTable.SIZES, ChangeType.INSERT, size.getId(), size));
     }
 
     @Transactional
     public void update(String id, String newId) {
         delete(id);
-        repository.save(new PartSize(newId));
+        repository.insert(newId);
+        events.publishEvent(new DataChangedEvent(DataTable.SIZES, ChangeType.INSERT, newId, new PartSize(newId)));
     }
 
     @Transactional
     public void delete(String id) {
-        if (!repository.existsById(id)) {
+        if (repository.removeById(id) == 0) {
             throw new EntityNotFoundException("Part size not found: " + id);
         }
-        repository.deleteById(id);
+        events.publishEvent(new DataChangedEvent(DataTable.SIZES, ChangeType.DELETE, id, null));
     }
 }
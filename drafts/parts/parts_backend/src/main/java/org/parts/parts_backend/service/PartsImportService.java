@@ -0,0 +1,110 @@
+package org.parts.parts_backend.service;
+
+import jakarta.validation.Validator;
+import org.parts.parts_backend.dto.BulkImportResultDTO;
+import org.parts.parts_backend.dto.RowErrorDTO;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartsJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk part ingestion. Each batch is validated, then written as one JDBC batch in its own
+ * transaction. If the batch is rejected by the database, its rows are retried one by one
+ * so that only the offending rows are reported and skipped.
+ */
+@Service
+public class PartsImportService {
+    private final PartsJdbcRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+
+    @Value("${parts.import.batch-size:1000}")
+    private int batchSize;
+
+    PartsImportService(PartsJdbcRepository repository, TransactionTemplate transactionTemplate, Validator validator,
+                       ApplicationEventPublisher events) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.events = events;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public BulkImportResultDTO importBatch(List<ImportRow> rows) {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.part());
+            if (error != null) {
+                result.errors.add(new RowErrorDTO(row.row(), error));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return result;
+        }
+        try {
+            insert(valid.stream().map(ImportRow::part).toList());
+            result.inserted += valid.size();
+        } catch (DataAccessException batchFailure) {
+            for (ImportRow row : valid) {
+                try {
+                    insert(List.of(row.part()));
+                    result.inserted++;
+                } catch (DataAccessException e) {
+                    result.errors.add(new RowErrorDTO(row.row(), e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void insert(List<Part> parts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Part part : repository.insertAll(parts)) {
+                events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.INSERT, part.getId(), part));
+            }
+        });
+    }
+
+    private String validate(Part part) {
+        if (part == null) {
+            return "Empty row";
+        }
+        if (part.getName() == null || part.getName().isBlank()) {
+            return "name is required";
+        }
+        if (part.getCategoryId() == null) {
+            return "categoryId is required";
+        }
+        if (part.getQuantity() == null) {
+            return "quantity is required";
+        }
+        if (part.getQuantityInUse() == null) {
+            part.setQuantityInUse((short) 0);
+        }
+        var violations = validator.validate(part);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+}
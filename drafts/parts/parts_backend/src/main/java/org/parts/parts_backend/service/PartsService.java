@@ -1,58 +1,310 @@
 package org.parts.parts_backend.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import lombok.NonNull;
+import org.parts.parts_backend.dto.PartChangesDTO;
+import org.parts.parts_backend.dto.PartPageDTO;
+import org.parts.parts_backend.dto.PartQuantitiesDTO;
 import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.dto.QuantityAdjustmentDTO;
 import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.exception.InsufficientQuantityException;
+import org.parts.parts_backend.repository.PartProjection;
 import org.parts.parts_backend.repository.PartSpecification;
+import org.parts.parts_backend.repository.PartsJdbcRepository;
+import org.parts.parts_backend.repository.PartsQueryRepository;
 import org.parts.parts_backend.repository.PartsRepository;
+import org.parts.parts_backend.search.PartsSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class PartsService {
+    private static final Logger log = LoggerFactory.getLogger(PartsService.class);
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, "name", "id");
+
     private final PartsRepository repository;
+    private final PartsQueryRepository queryRepository;
+    private final PartsJdbcRepository jdbcRepository;
+    private final ApplicationEventPublisher events;
+    private final PartsSearchIndex searchIndex;
+
+    @Value("${parts.stream.fetch-size:500}")
+    private int streamFetchSize;
+
+    @Value("${parts.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${parts.changes.retention-hours:168}")
+    private int changesRetentionHours;
 
-    PartsService(PartsRepository repository) {
+    PartsService(PartsRepository repository, PartsQueryRepository queryRepository, PartsJdbcRepository jdbcRepository,
+                 ApplicationEventPublisher events, ObjectProvider<PartsSearchIndex> searchIndex) {
         this.repository = repository;
+        this.queryRepository = queryRepository;
+        this.jdbcRepository = jdbcRepository;
+        this.events = events;
+        this.searchIndex = searchIndex.getIfAvailable();
     }
 
+    @Transactional(readOnly = true)
     public List<Part> findAll() {
         return repository.findAll(Sort.by(Sort.Direction.ASC, "name"));
     }
 
+    // Not transactional itself: the index answers without a connection, and the repository query runs read-only
     public List<Part> find(PartSearchDTO search) {
+        if (searchIndex != null && searchIndex.isReady()) {
+            return searchIndex.search(search);
+        }
         return repository.findAll(
                 PartSpecification.searchByCriteria(search),
                 Sort.by(Sort.Direction.ASC, "name")
         );
     }
 
+    /**
+     * Returns only the given properties of the matching parts, see {@link PartProjection}.
+     */
+    public List<Map<String, Object>> find(PartSearchDTO search, List<String> fields) {
+        if (searchIndex != null && searchIndex.isReady()) {
+            return searchIndex.search(search).stream().map(part -> PartProjection.toMap(part, fields)).toList();
+        }
+        try (Stream<Map<String, Object>> rows = stream(search, fields)) {
+            return rows.toList();
+        }
+    }
+
+    public Stream<Map<String, Object>> stream(PartSearchDTO search, List<String> fields) {
+        return queryRepository.streamFields(
+                PartSpecification.searchByCriteria(search),
+                Sort.by(Sort.Direction.ASC, "name"),
+                fields,
+                streamFetchSize
+        );
+    }
+
+    /**
+     * Same result as {@link #find(PartSearchDTO)}, read through a database cursor.
+     * The returned stream holds a connection until it is closed.
+     */
+    public Stream<Part> stream(PartSearchDTO search) {
+        return queryRepository.stream(
+                PartSpecification.searchByCriteria(search),
+                Sort.by(Sort.Direction.ASC, "name"),
+                streamFetchSize
+        );
+    }
+
+    /**
+     * Returns at most {@code limit} parts after {@code cursor} in (name, id) order.
+     * Every page is an index range scan, so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public PartPageDTO findPage(PartSearchDTO search, String cursor, int limit) {
+        Specification<@NonNull Part> spec = PartSpecification.searchByCriteria(search);
+        if (cursor != null && !cursor.isBlank()) {
+            PartCursor after = PartCursor.decode(cursor);
+            spec = spec.and(PartSpecification.after(after.name(), after.id()));
+        }
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        // One extra row tells whether there is a next page
+        List<Part> rows = repository.findBy(spec, query -> query.sortBy(KEYSET_SORT).limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new PartPageDTO(rows, null);
+        }
+        List<Part> items = rows.subList(0, pageSize);
+        return new PartPageDTO(items, PartCursor.of(items.getLast()).encode());
+    }
+
+    /**
+     * Parts inserted, updated or deleted at or after revision {@code since}, see {@link PartChangesDTO}.
+     * A change committed concurrently with this call is returned by the next one. When deletions after
+     * {@code since} may have been pruned, only asks the client to resync.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PartChangesDTO findChanges(long since) {
+        // From 0 every live part is returned, so no deletion can be missed
+        if (since > 0 && since < jdbcRepository.horizon()) {
+            return new PartChangesDTO(List.of(), List.of(), since, true);
+        }
+        long until = jdbcRepository.watermark();
+        if (since >= until) {
+            return new PartChangesDTO(List.of(), List.of(), since, false);
+        }
+        return new PartChangesDTO(jdbcRepository.findChanged(since, until), jdbcRepository.findDeleted(since, until),
+                until, false);
+    }
+
+    /**
+     * Removes deletion tombstones older than {@code parts.changes.retention-hours}, so parts_deleted
+     * does not grow without bound. Clients that last synced before them are told to resync.
+     */
+    @Scheduled(fixedDelayString = "${parts.changes.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneDeleted() {
+        long pruned = jdbcRepository.pruneDeleted(changesRetentionHours);
+        if (pruned > 0) {
+            log.info("Pruned {} part deletions older than {} hours", pruned, changesRetentionHours);
+        }
+    }
+
+    /**
+     * All parts in name order with the revision to sync from afterwards, both read from one database snapshot.
+     * The search index is bypassed: it may not have applied yet a change that the revision already covers.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PartChangesDTO findAllWithRevision() {
+        long revision = jdbcRepository.watermark();
+        return new PartChangesDTO(repository.findAll(Sort.by(Sort.Direction.ASC, "name")), List.of(), revision,
+                false);
+    }
+
+    /**
+     * Parts whose name contains or resembles {@code term}, best matches first.
+     */
+    @Transactional(readOnly = true)
+    public List<Part> searchRanked(String term, int limit) {
+        return repository.searchRanked(term, Math.clamp(limit, 1, maxPageSize));
+    }
+
     public Part findById(Integer id) {
+        if (searchIndex != null && searchIndex.isReady()) {
+            return searchIndex.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Part not found: " + id));
+        }
         return repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Part not found: " + id));
     }
 
     @Transactional
     public Part insert(Part part) {
-        return repository.save(part);
+        Part saved = repository.save(part);
+        events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.INSERT, saved.getId(), saved));
+        return saved;
     }
 
     @Transactional
     public Part update(Part newPart) {
-        if (!repository.existsById(newPart.getId())) {
-            throw new EntityNotFoundException("Part not found: " + newPart.getId());
-        }
-        return repository.save(newPart);
+        Part saved = jdbcRepository.update(newPart)
+                .orElseThrow(() -> new EntityNotFoundException("Part not found: " + newPart.getId()));
+        events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.UPDATE, saved.getId(), saved));
+        return saved;
     }
 
     @Transactional
     public void delete(Integer id) {
-        if (!repository.existsById(id)) {
+        if (repository.removeById(id) == 0) {
             throw new EntityNotFoundException("Part not found: " + id);
         }
-        repository.deleteById(id);
+        events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.DELETE, id, null));
+    }
+
+    /**
+     * Applies all adjustments in one UPDATE statement, without loading the parts.
+     * Adjustments of the same part are summed. Either every adjustment is applied or none:
+     * an unknown id or a resulting quantity that violates the table constraints rolls back the whole call.
+     */
+    @Transactional
+    public List<PartQuantitiesDTO> adjustQuantities(List<QuantityAdjustmentDTO> adjustments) {
+        Map<Integer, int[]> deltas = new LinkedHashMap<>();
+        for (QuantityAdjustmentDTO adjustment : adjustments) {
+            int[] delta = deltas.computeIfAbsent(adjustment.id, id -> new int[2]);
+            delta[0] += adjustment.quantityDelta;
+            delta[1] += adjustment.quantityInUseDelta;
+        }
+        Integer[] ids = deltas.keySet().toArray(new Integer[0]);
+        Integer[] quantityDeltas = deltas.values().stream().map(delta -> delta[0]).toArray(Integer[]::new);
+        Integer[] quantityInUseDeltas = deltas.values().stream().map(delta -> delta[1]).toArray(Integer[]::new);
+        List<Part> updated = jdbcRepository.adjustQuantities(ids, quantityDeltas, quantityInUseDeltas);
+        if (updated.size() != ids.length) {
+            List<Integer> found = updated.stream().map(Part::getId).toList();
+            throw new EntityNotFoundException("Parts not found: " + missing(deltas.keySet(), found));
+        }
+        for (Part part : updated) {
+            events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.UPDATE, part.getId(), part));
+        }
+        return updated.stream().map(PartQuantitiesDTO::of).toList();
+    }
+
+    /**
+     * Atomically moves quantity units of the part into use, failing if fewer than quantity units are free.
+     */
+    @Transactional
+    public PartQuantitiesDTO reserve(Integer id, int quantity) {
+        checkQuantity(quantity);
+        Part part = jdbcRepository.reserve(id, quantity)
+                .orElseThrow(() -> notUpdated(id, "Not enough free units of part " + id + " to reserve " + quantity));
+        return quantitiesChanged(part);
+    }
+
+    /**
+     * Atomically returns quantity units of the part from use, failing if fewer than quantity units are in use.
+     */
+    @Transactional
+    public PartQuantitiesDTO release(Integer id, int quantity) {
+        checkQuantity(quantity);
+        Part part = jdbcRepository.release(id, quantity)
+                .orElseThrow(() -> notUpdated(id, "Not enough units of part " + id + " in use to release " + quantity));
+        return quantitiesChanged(part);
+    }
+
+    private static void checkQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+    }
+
+    // Only reached when the conditional update matched nothing, so the extra lookup stays off the hot path
+    private RuntimeException notUpdated(Integer id, String conflict) {
+        if (!repository.existsById(id)) {
+            return new EntityNotFoundException("Part not found: " + id);
+        }
+        return new InsufficientQuantityException(conflict);
+    }
+
+    private PartQuantitiesDTO quantitiesChanged(Part part) {
+        events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.UPDATE, part.getId(), part));
+        return PartQuantitiesDTO.of(part);
+    }
+
+    /**
+     * Deletes all parts in one statement. Nothing is deleted if any id does not exist.
+     */
+    @Transactional
+    public void deleteAll(List<Integer> ids) {
+        Set<Integer> distinct = new HashSet<>(ids);
+        List<Integer> deleted = jdbcRepository.deleteAll(distinct.toArray(new Integer[0]));
+        if (deleted.size() != distinct.size()) {
+            throw new EntityNotFoundException("Parts not found: " + missing(distinct, deleted));
+        }
+        for (Integer id : deleted) {
+            events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.DELETE, id, null));
+        }
+    }
+
+    private static Set<Integer> missing(Set<Integer> requested, List<Integer> found) {
+        Set<Integer> missing = new HashSet<>(requested);
+        found.forEach(missing::remove);
+        return missing;
     }
 }
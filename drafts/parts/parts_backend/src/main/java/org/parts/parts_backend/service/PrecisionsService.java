@@ -2,7 +2,11 @@ package org.parts.parts_backend.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.parts.parts_backend.entity.Precision;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
 import org.parts.parts_backend.repository.PrecisionsRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,43 +17,54 @@ import java.util.List;
 @Service
 public class PrecisionsService {
     private final PrecisionsRepository repository;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<Precision> cache;
 
-    PrecisionsService(PrecisionsRepository repository) {
+    PrecisionsService(PrecisionsRepository repository, ApplicationEventPublisher events, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.events = events;
+        this.cache = caches.create(DataTable.PRECISIONS);
     }
 
     public List<Precision> findAll() {
-        return repository.findAll(Sort.by(Sort.Direction.ASC, "value"));
+        return cache.get(() -> repository.findAll(Sort.by(Sort.Direction.ASC, "value")));
     }
 
     public List<Precision> findByValue(BigDecimal value) {
-        return repository.findByValue(value);
+        return findAll().stream()
+                .filter(precision -> precision.getValue().compareTo(value) == 0)
+                .toList();
     }
 
     public Precision findById(int id) {
-        return repository.findById(id)
+        return findAll().stream()
+                .filter(precision -> precision.getId() == id)
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Precision not found: " + id));
     }
 
     @Transactional
     public Precision insert(BigDecimal value) {
         Precision Precision = new Precision(value);
-        return repository.save(Precision);
+        Precision saved = repository.save(Precision);
+        events.publishEvent(new DataChangedEvent(DataTable.PRECISIONS, ChangeType.INSERT, saved.getId(), saved));
+        return saved;
     }
 
     @Transactional
     public Precision update(Precision Precision) {
-        if (!repository.existsById(Precision.getId())) {
+        if (repository.updateValue(Precision.getId(), Precision.getValue()) == 0) {
             throw new EntityNotFoundException("Precision not found: " + Precision.getId());
         }
-        return repository.save(Precision);
+        events.publishEvent(new DataChangedEvent(DataTable.PRECISIONS, ChangeType.UPDATE, Precision.getId(), Precision));
+        return Precision;
     }
 
     @Transactional
     public void delete(int id) {
-        if (!repository.existsById(id)) {
+        if (repository.removeById(id) == 0) {
             throw new EntityNotFoundException("Precision not found: " + id);
         }
-        repository.deleteById(id);
+        events.publishEvent(new DataChangedEvent(DataTable.PRECISIONS, ChangeType.DELETE, id, null));
     }
 }
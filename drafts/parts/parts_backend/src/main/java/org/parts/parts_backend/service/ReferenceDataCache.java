@@ -0,0 +1,61 @@
+package org.parts.parts_backend.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache holding an immutable snapshot of a whole reference table.
+ * Every invalidation bumps the generation; a snapshot loaded under an older
+ * generation is never served, so a load racing with a write cannot resurrect stale rows.
+ */
+public class ReferenceDataCache<T> {
+    private record Snapshot<T>(long generation, List<T> items) {
+    }
+
+    private final String name;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Snapshot<T> snapshot;
+
+    ReferenceDataCache(String name) {
+        this.name = name;
+    }
+
+    public List<T> get(Supplier<List<T>> loader) {
+        long current = generation.get();
+        Snapshot<T> cached = snapshot;
+        if (cached != null && cached.generation() == current) {
+            hits.increment();
+            return cached.items();
+        }
+        misses.increment();
+        List<T> items = List.copyOf(loader.get());
+        snapshot = new Snapshot<>(current, items);
+        return items;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        Snapshot<T> cached = snapshot;
+        return cached == null ? 0 : cached.items().size();
+    }
+}
@@ -0,0 +1,36 @@
+package org.parts.parts_backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the reference data cache counters shown by GET /cache/stats as Micrometer meters.
+ */
+@Component
+class ReferenceDataCacheMetrics implements MeterBinder {
+    private final ReferenceDataCaches caches;
+
+    ReferenceDataCacheMetrics(ReferenceDataCaches caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ReferenceDataCache<?> cache : caches.all()) {
+            FunctionCounter.builder("cache.gets", cache, ReferenceDataCache::getHits)
+                    .tag("cache", cache.getName())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, ReferenceDataCache::getMisses)
+                    .tag("cache", cache.getName())
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, ReferenceDataCache::getSize)
+                    .tag("cache", cache.getName())
+                    .register(registry);
+        }
+    }
+}
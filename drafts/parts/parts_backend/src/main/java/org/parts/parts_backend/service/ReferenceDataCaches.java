@@ -0,0 +1,37 @@
+package org.parts.parts_backend.service;
+
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class ReferenceDataCaches {
+    private final Map<DataTable, ReferenceDataCache<?>> caches = new EnumMap<>(DataTable.class);
+
+    synchronized <T> ReferenceDataCache<T> create(DataTable table) {
+        ReferenceDataCache<T> cache = new ReferenceDataCache<>(table.name().toLowerCase());
+        caches.put(table, cache);
+        return cache;
+    }
+
+    public synchronized Collection<ReferenceDataCache<?>> all() {
+        return List.copyOf(caches.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        ReferenceDataCache<?> cache;
+        synchronized (this) {
+            cache = caches.get(event.getTable());
+        }
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package org.parts.parts_backend.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.parts.parts_backend.entity.Part;
 import org.parts.parts_backend.entity.Unit;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartsRepository;
 import org.parts.parts_backend.repository.UnitsRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,49 +19,73 @@ import java.util.List;
 @Service
 public class UnitsService {
     private final UnitsRepository repository;
+    private final PartsRepository partsRepository;
+    private final ApplicationEventPublisher events;
+    private final ReferenceDataCache<Unit> cache;
 
-    UnitsService(UnitsRepository repository) {
+    UnitsService(UnitsRepository repository, PartsRepository partsRepository, ApplicationEventPublisher events,
+                 ReferenceDataCaches caches) {
         this.repository = repository;
+        this.partsRepository = partsRepository;
+        this.events = events;
+        this.cache = caches.create(DataTable.UNITS);
     }
 
     public List<Unit> findAll() {
-        return repository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+        return cache.get(() -> repository.findAll(Sort.by(Sort.Direction.ASC, "id")));
     }
 
     public List<Unit> findByIdContainingIgnoreCase(String searchString) {
-        return repository.findByIdContainingIgnoreCase(searchString, Sort.by(Sort.Direction.ASC, "id"));
+        String keyword = searchString.toLowerCase();
+        return findAll().stream()
+                .filter(unit -> unit.getId().toLowerCase().contains(keyword))
+                .toList();
     }
 
     public List<Unit> findByMultiplier(BigDecimal value) {
-        return repository.findByMultiplier(value);
+        return findAll().stream()
+                .filter(unit -> unit.getMultiplier().compareTo(value) == 0)
+                .toList();
     }
 
     public Unit findById(String id) {
-        return repository.findById(id)
+        return findAll().stream()
+                .filter(unit -> unit.getId().equals(id))
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Unit not found: " + id));
     }
 
     @Transactional
     public void insert(Unit unit) {
-        repository.save(unit);
+        repository.insert(unit.getId(), unit.getMultiplier());
+        events.publishEvent(new DataChangedEvent(DataTable.UNITS, ChangeType.INSERT, unit.getId(), unit));
     }
 
     @Transactional
     public void update(String id, Unit newUnit) {
-        if (!repository.existsById(id)) {
+        boolean renamed = !id.equals(newUnit.getId());
+        if (renamed) {
+            delete(id);
+            repository.insert(newUnit.getId(), newUnit.getMultiplier());
+        } else if (repository.updateMultiplier(id, newUnit.getMultiplier()) == 0) {
             throw new EntityNotFoundException("Unit not found: " + id);
         }
-        if (!id.equals(newUnit.getId())) {
-            delete(id);
+        events.publishEvent(new DataChangedEvent(DataTable.UNITS, renamed ? ChangeType.INSERT : ChangeType.UPDATE,
+                newUnit.getId(), newUnit));
+        if (!renamed) {
+            // The units_renormalize_parts trigger has rewritten normalized_value of the unit's parts. Its
+            // notification carries this instance's name and is skipped here, so the parts are announced locally.
+            for (Part part : partsRepository.findByUnitId(id)) {
+                events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.UPDATE, part.getId(), part));
+            }
         }
-        repository.save(newUnit);
     }
 
     @Transactional
     public void delete(String id) {
-        if (!repository.existsById(id)) {
+        if (repository.removeById(id) == 0) {
             throw new EntityNotFoundException("Unit not found: " + id);
         }
-        repository.deleteById(id);
+        events.publishEvent(new DataChangedEvent(DataTable.UNITS, ChangeType.DELETE, id, null));
     }
 }
@@ -0,0 +1,7 @@
+-- Part names are ordered by code point, with the builtin pg_c_utf8 collation (PostgreSQL 17): the same order
+-- on every server whatever its locale, and one that PartsSearchIndex reproduces exactly, so a list is sorted
+-- alike whether it is answered from the database or from the index. lower() keeps Unicode case mapping.
+-- The indexes on name are rebuilt under the new collation while parts is locked.
+set local lock_timeout = '5s';
+
+alter table parts alter column name type varchar(100) collate "pg_c_utf8";
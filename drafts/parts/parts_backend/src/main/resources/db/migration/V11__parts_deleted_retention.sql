@@ -0,0 +1,21 @@
+-- Tombstones in parts_deleted are pruned once older than parts.changes.retention-hours, see
+-- PartsService.pruneDeleted. The horizon is the lowest revision clients can still sync from by delta:
+-- deletions below it may be forgotten, so a client that last synced earlier has to reload everything.
+set local lock_timeout = '5s';
+
+-- now() is stable, so existing tombstones get the migration time without rewriting the table
+alter table parts_deleted add column deleted_at timestamptz not null default now();
+create index parts_deleted_deleted_at_idx on parts_deleted (deleted_at);
+
+create table parts_changes_horizon (
+    revision bigint not null
+);
+insert into parts_changes_horizon (revision) values (0);
+
+create or replace function parts_record_delete() returns trigger language plpgsql as $$
+begin
+    insert into parts_deleted (id, revision) values (old.id, pg_current_xact_id()::text::bigint)
+    on conflict (id) do update set revision = excluded.revision, deleted_at = excluded.deleted_at;
+    return old;
+end
+$$;
@@ -0,0 +1,35 @@
+-- Schema as created by the former dbinit scripts
+create sequence if not exists categories_id_seq;
+create sequence if not exists parts_id_seq;
+create sequence if not exists precisions_id_seq;
+
+create table if not exists categories (
+    id integer not null primary key default NEXTVAL('categories_id_seq'),
+    name varchar(50) not null unique
+);
+
+create table if not exists units(
+  id varchar(4) not null primary key,
+  multiplier numeric not null
+);
+
+create table if not exists sizes(id varchar(4) not null primary key);
+
+create table if not exists precisions (
+    id integer not null primary key default NEXTVAL('precisions_id_seq'),
+    value numeric not null unique
+);
+
+create table if not exists parts (
+    id integer not null primary key default NEXTVAL('parts_id_seq'),
+    category_id integer not null references categories(id),
+    size_id varchar(4) references sizes(id),
+    unit_id varchar(4) references units(id),
+    precision_id integer references precisions(id),
+    name varchar(100) not null unique,
+    value numeric,
+    quantity smallint not null CHECK (quantity >= 0),
+    quantity_in_use smallint not null default 0 CHECK (quantity_in_use >= 0 and quantity_in_use <= quantity),
+    quantity_not_in_use smallint GENERATED ALWAYS AS (quantity - quantity_in_use),
+    comment varchar(1000)
+);
@@ -0,0 +1,11 @@
+-- Built without blocking writes on parts; a failed build leaves an invalid index
+-- that has to be dropped before the migration is repaired and rerun
+set lock_timeout = '5s';
+
+create extension if not exists pg_trgm;
+
+-- Serve lower(col) like '%term%' / 'term%' filters and similarity ranking on parts
+create index concurrently if not exists parts_name_trgm_idx on parts using gin (lower(name) gin_trgm_ops);
+create index concurrently if not exists parts_comment_trgm_idx on parts using gin (lower(comment) gin_trgm_ops);
+
+reset lock_timeout;
@@ -0,0 +1,14 @@
+-- Built without blocking writes on parts; a failed build leaves an invalid index
+-- that has to be dropped before the migration is repaired and rerun
+set lock_timeout = '5s';
+
+-- Serve the PartSpecification filters; lists are sorted by name, so it trails the equality columns
+create index concurrently if not exists parts_category_name_idx on parts (category_id, name);
+create index concurrently if not exists parts_size_name_idx on parts (size_id, name);
+create index concurrently if not exists parts_unit_value_idx on parts (unit_id, value);
+create index concurrently if not exists parts_precision_idx on parts (precision_id);
+create index concurrently if not exists parts_value_idx on parts (value);
+-- inStock filter, including its keyset pages in (name, id) order
+create index concurrently if not exists parts_in_stock_name_idx on parts (name, id) where quantity_not_in_use > 0;
+
+reset lock_timeout;
@@ -0,0 +1,33 @@
+-- Change tracking for GET /parts/changes. A row's revision is the id of the transaction that last wrote it;
+-- deleted ids are kept in parts_deleted with the revision of the deleting transaction.
+set local lock_timeout = '5s';
+
+-- A constant default is stored in the catalog, so this does not rewrite parts
+alter table parts add column revision bigint not null default 0;
+
+create table parts_deleted (
+    id integer not null primary key,
+    revision bigint not null
+);
+create index parts_deleted_revision_idx on parts_deleted (revision);
+
+create function parts_set_revision() returns trigger language plpgsql as $$
+begin
+    new.revision := pg_current_xact_id()::text::bigint;
+    return new;
+end
+$$;
+
+create trigger parts_revision before insert or update on parts
+    for each row execute function parts_set_revision();
+
+create function parts_record_delete() returns trigger language plpgsql as $$
+begin
+    insert into parts_deleted (id, revision) values (old.id, pg_current_xact_id()::text::bigint)
+    on conflict (id) do update set revision = excluded.revision;
+    return old;
+end
+$$;
+
+create trigger parts_deleted after delete on parts
+    for each row execute function parts_record_delete();
@@ -0,0 +1,7 @@
+-- Built without blocking writes on parts; a failed build leaves an invalid index
+-- that has to be dropped before the migration is repaired and rerun
+set lock_timeout = '5s';
+
+create index concurrently if not exists parts_revision_idx on parts (revision);
+
+reset lock_timeout;
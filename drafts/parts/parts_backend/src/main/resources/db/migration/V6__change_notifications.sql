@@ -0,0 +1,52 @@
+-- Every committed write is announced on the data_changed channel, so that each backend instance can refresh
+-- its caches and search index, whoever made the change. The payload carries the writer's application_name;
+-- an instance skips its own notifications, it has already applied them. All triggers are per statement:
+-- reference tables are cached whole and announced without ids, parts with the ids of the changed rows,
+-- collected from the transition table. A statement changing more than 500 parts, or a truncate, is announced
+-- without ids as well, and listeners reload the whole table instead of sending thousands of notifications.
+set local lock_timeout = '5s';
+
+create function notify_data_changed() returns trigger language plpgsql as $$
+declare
+    ids integer[];
+begin
+    if tg_table_name = 'parts' and tg_op <> 'TRUNCATE' then
+        select array_agg(id) into ids from (select id from changed_rows limit 501) changed;
+        if ids is null then
+            return null;
+        end if;
+        if cardinality(ids) > 500 then
+            ids := null;
+        end if;
+    end if;
+    perform pg_notify('data_changed', json_build_object(
+        'table', upper(tg_table_name),
+        'type', case when tg_op = 'TRUNCATE' then 'DELETE' else tg_op end,
+        'ids', ids,
+        'origin', current_setting('application_name')
+    )::text);
+    return null;
+end
+$$;
+
+-- A trigger with transition tables can only fire on one event
+create trigger parts_notify_insert after insert on parts
+    referencing new table as changed_rows
+    for each statement execute function notify_data_changed();
+create trigger parts_notify_update after update on parts
+    referencing new table as changed_rows
+    for each statement execute function notify_data_changed();
+create trigger parts_notify_delete after delete on parts
+    referencing old table as changed_rows
+    for each statement execute function notify_data_changed();
+create trigger parts_notify_truncate after truncate on parts
+    for each statement execute function notify_data_changed();
+
+create trigger categories_notify after insert or update or delete or truncate on categories
+    for each statement execute function notify_data_changed();
+create trigger units_notify after insert or update or delete or truncate on units
+    for each statement execute function notify_data_changed();
+create trigger precisions_notify after insert or update or delete or truncate on precisions
+    for each statement execute function notify_data_changed();
+create trigger sizes_notify after insert or update or delete or truncate on sizes
+    for each statement execute function notify_data_changed();
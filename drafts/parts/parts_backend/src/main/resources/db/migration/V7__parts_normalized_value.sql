@@ -0,0 +1,66 @@
+-- Part values in base units (value times the unit multiplier) for range searches across mixed units.
+-- A generated column cannot read units, so triggers keep it current: on parts when value or unit change,
+-- and on units when a multiplier changes. Parts without a unit keep their value as is.
+-- Existing rows are filled in by V8, the index is built by V9.
+set local lock_timeout = '5s';
+
+alter table parts add column normalized_value numeric;
+
+create function parts_set_normalized_value() returns trigger language plpgsql as $$
+begin
+    new.normalized_value := new.value * coalesce((select multiplier from units where id = new.unit_id), 1);
+    return new;
+end
+$$;
+
+create trigger parts_normalized_value before insert or update of value, unit_id on parts
+    for each row execute function parts_set_normalized_value();
+
+create function units_renormalize_parts() returns trigger language plpgsql as $$
+begin
+    update parts set normalized_value = value * new.multiplier where unit_id = new.id;
+    return null;
+end
+$$;
+
+create trigger units_renormalize_parts after update of multiplier on units
+    for each row when (old.multiplier is distinct from new.multiplier)
+    execute function units_renormalize_parts();
+
+-- A session that sets parts.backfill to 'on' rewrites derived columns only: its writes keep their revisions
+-- and are not announced, so clients and other instances are not sent every row again
+create or replace function parts_set_revision() returns trigger language plpgsql as $$
+begin
+    if current_setting('parts.backfill', true) = 'on' then
+        return new;
+    end if;
+    new.revision := pg_current_xact_id()::text::bigint;
+    return new;
+end
+$$;
+
+create or replace function notify_data_changed() returns trigger language plpgsql as $$
+declare
+    ids integer[];
+begin
+    if current_setting('parts.backfill', true) = 'on' then
+        return null;
+    end if;
+    if tg_table_name = 'parts' and tg_op <> 'TRUNCATE' then
+        select array_agg(id) into ids from (select id from changed_rows limit 501) changed;
+        if ids is null then
+            return null;
+        end if;
+        if cardinality(ids) > 500 then
+            ids := null;
+        end if;
+    end if;
+    perform pg_notify('data_changed', json_build_object(
+        'table', upper(tg_table_name),
+        'type', case when tg_op = 'TRUNCATE' then 'DELETE' else tg_op end,
+        'ids', ids,
+        'origin', current_setting('application_name')
+    )::text);
+    return null;
+end
+$$;
@@ -0,0 +1,23 @@
+-- Fills normalized_value of the existing parts in batches of 10000 ids, each committed on its own, so no
+-- lock on parts is held for longer than one batch. Rows written concurrently are already set by the trigger;
+-- recomputing them is harmless, so a failed run can be repaired and rerun.
+-- The settings are local to each batch transaction: they end with it, whether it commits or fails, and never
+-- outlive the migration on its connection.
+do $$
+declare
+    last_id integer := 0;
+    batch_end integer;
+begin
+    loop
+        perform set_config('lock_timeout', '5s', true);
+        perform set_config('parts.backfill', 'on', true);
+        select max(id) into batch_end from (select id from parts where id > last_id order by id limit 10000) batch;
+        exit when batch_end is null;
+        update parts
+        set normalized_value = value * coalesce((select multiplier from units where id = parts.unit_id), 1)
+        where id > last_id and id <= batch_end and value is not null;
+        commit;
+        last_id := batch_end;
+    end loop;
+end
+$$;
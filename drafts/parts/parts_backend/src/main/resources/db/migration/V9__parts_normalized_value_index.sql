@@ -0,0 +1,8 @@
+-- Built without blocking writes on parts; a failed build leaves an invalid index
+-- that has to be dropped before the migration is repaired and rerun
+set lock_timeout = '5s';
+
+-- Value range searches within categories: one range scan per category
+create index concurrently if not exists parts_category_normalized_value_idx on parts (category_id, normalized_value);
+
+reset lock_timeout;
@@ -0,0 +1,79 @@
+package org.parts.parts_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /parts/bulk imports the good rows of a JSON array and reports each bad one by its position.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class PartsImportTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+    private int categoryId;
+
+    @BeforeEach
+    void createCategory() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+        jdbcTemplate.update("insert into categories (name) values ('capacitors') on conflict do nothing");
+        categoryId = jdbcTemplate.queryForObject("select id from categories where name = 'capacitors'",
+                Integer.class);
+    }
+
+    @Test
+    void jsonImportReportsBadRowsAndKeepsGoodOnes() {
+        String parts = """
+                [
+                  {"name": "C 100n", "categoryId": %1$d, "quantity": 10},
+                  {"name": "C 10u", "categoryId": %1$d, "quantity": "many"},
+                  {"name": "C 1u", "categoryId": %1$d, "quantity": 5},
+                  {"categoryId": %1$d, "quantity": 5},
+                  {"name": "C 22p", "categoryId": %1$d, "quantity": 1}
+                ]
+                """.formatted(categoryId);
+
+        client.post().uri("/parts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(parts)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.inserted").isEqualTo(3)
+                .jsonPath("$.errors.length()").isEqualTo(2)
+                .jsonPath("$.errors[0].row").isEqualTo(2)
+                .jsonPath("$.errors[1].row").isEqualTo(4)
+                .jsonPath("$.errors[1].message").isEqualTo("name is required");
+
+        assertThat(jdbcTemplate.queryForList("select name from parts where category_id = ? order by name",
+                String.class, categoryId)).containsExactly("C 100n", "C 1u", "C 22p");
+    }
+}
@@ -0,0 +1,86 @@
+package org.parts.parts_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+/**
+ * A new unit multiplier rescales the normalized values of the unit's parts in the database.
+ * The instance that made the change must answer range searches and conditional GETs accordingly.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class UnitMultiplierTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void createPart() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+        jdbcTemplate.update("insert into categories (name) values ('resistors') on conflict do nothing");
+        jdbcTemplate.update("insert into units (id, multiplier) values ('kOhm', 1000) on conflict do nothing");
+        jdbcTemplate.update("""
+                insert into parts (category_id, unit_id, name, value, quantity)
+                select id, 'kOhm', 'R 4.7k', 4.7, 10 from categories where name = 'resistors'
+                on conflict do nothing
+                """);
+    }
+
+    @Test
+    void multiplierChangeRenormalizesParts() {
+        String etag = client.get().uri("/parts?valueFrom=4000&valueTo=5000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("R 4.7k")
+                .jsonPath("$[0].normalizedValue").isEqualTo(4700.0)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        client.put().uri("/units/kOhm")
+                .bodyValue(Map.of("id", "kOhm", "multiplier", 1))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/parts?valueFrom=4000&valueTo=5000")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+        client.get().uri("/parts?valueFrom=4&valueTo=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("R 4.7k")
+                .jsonPath("$[0].normalizedValue").isEqualTo(4.7);
+    }
+}
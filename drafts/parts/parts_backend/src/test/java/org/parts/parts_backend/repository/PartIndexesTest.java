@@ -0,0 +1,244 @@
+package org.parts.parts_backend.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.entity.Part;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every filter PartSpecification can produce is answered from an index
+ * on a catalogue large enough for the planner to prefer one. The plans are taken for the
+ * SQL Hibernate generates from the specification, with the parameters it binds.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PartIndexesTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    // Prepared queries executed through the session factory, with their parameter setter calls
+    private static final List<Execution> executions = new ArrayList<>();
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void createCatalogue() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into categories (name) select 'category ' || n from generate_series(1, 100) n");
+            statement.execute("insert into units (id, multiplier) select 'u' || n, n from generate_series(1, 100) n");
+            statement.execute("insert into sizes (id) select 's' || n from generate_series(1, 100) n");
+            statement.execute("insert into precisions (value) select n from generate_series(1, 100) n");
+            // Few parts are in stock, as for a catalogue that is mostly in use
+            statement.execute("""
+                    insert into parts (category_id, size_id, unit_id, precision_id, name, value, quantity,
+                                       quantity_in_use, comment)
+                    select 1 + n % 100, 's' || (1 + n / 7 % 100), 'u' || (1 + n / 13 % 100), 1 + n / 17 % 100,
+                           'part ' || md5(n::text), n % 1000, 10, case when n % 50 = 0 then 0 else 10 end,
+                           'comment ' || md5((n * 31)::text)
+                    from generate_series(1, 100000) n
+                    """);
+            statement.execute("analyze");
+        }
+        Configuration configuration = new Configuration().addAnnotatedClass(Part.class);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE,
+                recording(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                        postgres.getPassword())));
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "none");
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    static Stream<Arguments> searches() {
+        return Stream.of(
+                Arguments.of("categoryIds", search(s -> s.categoryIds = List.of(3, 4)), false),
+                Arguments.of("sizeIds", search(s -> s.sizeIds = List.of("s3", "s4")), false),
+                Arguments.of("unitIds", search(s -> s.unitIds = List.of("u3", "u4")), false),
+                Arguments.of("unitIds and value", search(s -> {
+                    s.unitIds = List.of("u3");
+                    s.value = BigDecimal.valueOf(42);
+                }), false),
+                Arguments.of("precisionId", search(s -> s.precisionId = 3), false),
+                Arguments.of("value", search(s -> s.value = BigDecimal.valueOf(42)), false),
+                Arguments.of("name", search(s -> s.name = "4f2a"), false),
+                Arguments.of("name prefix", search(s -> {
+                    s.name = "part 4f2a";
+                    s.namePrefix = true;
+                }), false),
+                Arguments.of("comment", search(s -> s.comment = "4f2a"), false),
+                Arguments.of("inStock", search(s -> s.inStock = true), false),
+                Arguments.of("inStock page", search(s -> s.inStock = true), true),
+                Arguments.of("categoryIds and inStock", search(s -> {
+                    s.categoryIds = List.of(3, 4);
+                    s.inStock = true;
+                }), false),
+                Arguments.of("categoryIds and range", search(s -> {
+                    s.categoryIds = List.of(3, 4);
+                    s.valueFrom = BigDecimal.valueOf(4700);
+                    s.valueTo = BigDecimal.valueOf(10000);
+                }), false)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("searches")
+    void filterUsesIndex(String filter, PartSearchDTO search, boolean page) throws SQLException {
+        List<String> plan = explain(execute(PartSpecification.searchByCriteria(search), page));
+
+        assertThat(plan).as("plan for %s", filter).noneMatch(line -> line.contains("Seq Scan"));
+        assertThat(plan).as("plan for %s", filter).anyMatch(line -> line.contains("Index"));
+    }
+
+    private static PartSearchDTO search(Consumer<PartSearchDTO> filters) {
+        PartSearchDTO search = new PartSearchDTO(List.of(), List.of(), List.of(), null, null, false, null, null,
+                null, null, false);
+        filters.accept(search);
+        return search;
+    }
+
+    // Runs the specification as PartsService does: sorted by name, or as the first keyset page of PartsService.findPage
+    private static Execution execute(Specification<Part> spec, boolean page) {
+        executions.clear();
+        sessionFactory.inSession(session -> {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<Part> query = builder.createQuery(Part.class);
+            Root<Part> root = query.from(Part.class);
+            query.where(spec.toPredicate(root, query, builder));
+            if (page) {
+                query.orderBy(builder.asc(root.get("name")), builder.asc(root.get("id")));
+                session.createQuery(query).setMaxResults(101).getResultList();
+            } else {
+                query.orderBy(builder.asc(root.get("name")));
+                session.createQuery(query).getResultList();
+            }
+        });
+        assertThat(executions).isNotEmpty();
+        return executions.getLast();
+    }
+
+    private static List<String> explain(Execution execution) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("explain " + execution.sql())) {
+            for (Bind bind : execution.binds()) {
+                invoke(statement, bind.setter(), bind.args());
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private record Bind(Method setter, Object[] args) {
+    }
+
+    private record Execution(String sql, List<Bind> binds) {
+    }
+
+    // Records every prepared query with the parameters bound to it, so that it can be replayed under EXPLAIN
+    private static DataSource recording(DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                        return recorded(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+            }
+        };
+    }
+
+    private static PreparedStatement recorded(PreparedStatement statement, String sql) {
+        List<Bind> binds = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                binds.add(new Bind(method, args));
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("executeQuery")) {
+                executions.add(new Execution(sql, List.copyOf(binds)));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(PartIndexesTest.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getTargetException();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
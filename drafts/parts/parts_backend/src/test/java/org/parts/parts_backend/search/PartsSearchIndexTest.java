@@ -0,0 +1,203 @@
+package org.parts.parts_backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.parts.parts_backend.dto.PartSearchDTO;
+import org.parts.parts_backend.entity.Part;
+import org.parts.parts_backend.event.ChangeType;
+import org.parts.parts_backend.event.DataChangedEvent;
+import org.parts.parts_backend.event.DataTable;
+import org.parts.parts_backend.repository.PartSpecification;
+import org.parts.parts_backend.repository.PartsRepository;
+import org.parts.parts_backend.service.PartsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The index must answer every search with the parts PartSpecification selects, in the same order,
+ * after a build as well as after the incremental changes, compactions and rebuilds that follow.
+ */
+@SpringBootTest(properties = {"parts.search-index.enabled=true", "parts.search-index.rebuild-delay-ms=0"})
+@Testcontainers(disabledWithoutDocker = true)
+class PartsSearchIndexTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    // Mixed case, non-ASCII, characters beyond U+FFFF and LIKE wildcards, to tell collations and patterns apart
+    private static final String[] NAMES = {"Resistor", "resistor", "R_10%", "R 10k", "Capacitor", "capacitor 100n",
+            "Ωmeter", "Électrolytic", "резистор", "РЕЗИСТОР", "diode", "Diode_SMD", "10% tolerance", "led 😀",
+            "LED", " private"};
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PartsSearchIndex index;
+
+    @Autowired
+    private PartsRepository repository;
+
+    @Autowired
+    private PartsService partsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @BeforeEach
+    void createCatalogue() {
+        jdbcTemplate.execute("truncate parts, categories, units, sizes, precisions restart identity");
+        jdbcTemplate.execute("insert into categories (name) select 'category ' || n from generate_series(1, 5) n");
+        jdbcTemplate.execute("insert into units (id, multiplier) values ('p', 0.000000000001), ('n', 0.000000001), " +
+                "('u', 0.000001), ('k', 1000), ('M', 1000000)");
+        jdbcTemplate.execute("insert into sizes (id) values ('0603'), ('0805'), ('1206')");
+        jdbcTemplate.execute("insert into precisions (value) values (1), (5), (10)");
+        String[] units = {"p", "n", "u", "k", "M"};
+        String[] sizes = {"0603", "0805", "1206"};
+        for (int n = 0; n < 300; n++) {
+            jdbcTemplate.update("""
+                    insert into parts (category_id, size_id, unit_id, precision_id, name, value, quantity,
+                                       quantity_in_use, comment)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """,
+                    1 + n % 5,
+                    n % 4 == 0 ? null : sizes[n % 3],
+                    n % 6 == 0 ? null : units[n % 5],
+                    n % 7 == 0 ? null : 1 + n % 3,
+                    NAMES[n % NAMES.length] + " " + n,
+                    n % 11 == 0 ? null : BigDecimal.valueOf(n % 50, 1),
+                    10,
+                    n % 3 == 0 ? 10 : n % 4,
+                    n % 5 == 0 ? null : "lot " + (n % 2 == 0 ? "A_1 " : "B%2 ") + NAMES[n * 7 % NAMES.length]);
+        }
+        index.rebuild();
+    }
+
+    static Stream<Arguments> searches() {
+        return Stream.of(
+                Arguments.of("everything", search(s -> {
+                })),
+                Arguments.of("name", search(s -> s.name = "resistor")),
+                Arguments.of("non-ASCII name", search(s -> s.name = "РЕЗ")),
+                Arguments.of("name beyond U+FFFF", search(s -> s.name = "😀")),
+                Arguments.of("name with %", search(s -> s.name = "10%")),
+                Arguments.of("name with _", search(s -> s.name = "r_")),
+                Arguments.of("name _ alone", search(s -> s.name = "_")),
+                Arguments.of("blank name", search(s -> s.name = "  ")),
+                Arguments.of("name prefix", search(s -> {
+                    s.name = "r";
+                    s.namePrefix = true;
+                })),
+                Arguments.of("name prefix with _", search(s -> {
+                    s.name = "R_1";
+                    s.namePrefix = true;
+                })),
+                Arguments.of("comment with _", search(s -> s.comment = "a_1")),
+                Arguments.of("comment with %", search(s -> s.comment = "B%")),
+                Arguments.of("categoryIds", search(s -> s.categoryIds = List.of(1, 3))),
+                Arguments.of("sizeIds", search(s -> s.sizeIds = List.of("0603"))),
+                Arguments.of("unitIds", search(s -> s.unitIds = List.of("k", "u"))),
+                Arguments.of("precisionId", search(s -> s.precisionId = 2)),
+                Arguments.of("value", search(s -> s.value = new BigDecimal("2.50"))),
+                Arguments.of("value range", search(s -> {
+                    s.valueFrom = BigDecimal.valueOf(1000);
+                    s.valueTo = BigDecimal.valueOf(3000);
+                })),
+                Arguments.of("open value range", search(s -> s.valueFrom = BigDecimal.valueOf(0.000001))),
+                Arguments.of("inStock", search(s -> s.inStock = true)),
+                Arguments.of("everything at once", search(s -> {
+                    s.categoryIds = List.of(1, 2, 3);
+                    s.unitIds = List.of("k", "M", "u");
+                    s.name = "e";
+                    s.comment = "lot";
+                    s.inStock = true;
+                }))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("searches")
+    void matchesDatabaseAfterBuild(String description, PartSearchDTO search) {
+        assertMatchesDatabase(description, search);
+    }
+
+    @Test
+    void matchesDatabaseAfterChangesAndCompaction() {
+        List<Part> parts = repository.findAll();
+        // Enough retired slots for the index to compact, see PartsSearchIndex.Index.remove
+        for (int round = 0; round < 4; round++) {
+            for (Part part : parts) {
+                part.setName(round % 2 == 0 ? part.getName().toUpperCase() : part.getName().toLowerCase());
+                part.setQuantityInUse((short) ((part.getQuantityInUse() + 1) % (part.getQuantity() + 1)));
+                partsService.update(part);
+            }
+        }
+        partsService.deleteAll(parts.stream().map(Part::getId).filter(id -> id % 3 == 0).toList());
+        Part added = new Part();
+        added.setCategoryId(1);
+        added.setName("Added _%");
+        added.setQuantity((short) 1);
+        partsService.insert(added);
+
+        searches().forEach(arguments -> assertMatchesDatabase((String) arguments.get()[0],
+                (PartSearchDTO) arguments.get()[1]));
+    }
+
+    @Test
+    void rebuildsAfterTableLevelChange() {
+        // Rows changed behind the index's back, then announced without ids as a truncate or a large
+        // remote statement would be
+        jdbcTemplate.update("update parts set quantity_in_use = 0 where id % 2 = 0");
+        events.publishEvent(new DataChangedEvent(DataTable.PARTS, ChangeType.UPDATE, null, null));
+        // Likely made while the rebuild loads rows, so it is replayed onto the rebuilt index
+        Part changed = repository.findById(1).orElseThrow();
+        changed.setName("changed during rebuild");
+        partsService.update(changed);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                searches().forEach(arguments -> assertMatchesDatabase((String) arguments.get()[0],
+                        (PartSearchDTO) arguments.get()[1])));
+    }
+
+    private void assertMatchesDatabase(String description, PartSearchDTO search) {
+        List<Integer> expected = repository.findAll(PartSpecification.searchByCriteria(search),
+                        Sort.by(Sort.Direction.ASC, "name")).stream()
+                .map(Part::getId)
+                .toList();
+        List<Integer> actual = index.search(search).stream().map(Part::getId).toList();
+        assertThat(actual).as("index results for %s", description).containsExactlyElementsOf(expected);
+    }
+
+    private static PartSearchDTO search(Consumer<PartSearchDTO> filters) {
+        PartSearchDTO search = new PartSearchDTO(List.of(), List.of(), List.of(), null, null, false, null, null,
+                null, null, false);
+        filters.accept(search);
+        return search;
+    }
+}
@@ -1,9 +1,11 @@
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import './forms.css';
 
 function PartsForm() {
     const [parts, setParts] = useState([]);
+    // Revision the parts list is up to date with, see GET /parts/changes
+    const revision = useRef(0);
     const [categories, setCategories] = useState([]);
     const [sizes, setSizes] = useState([]);
     const [units, setUnits] = useState([]);
@@ -23,35 +25,36 @@ function PartsForm() {
 
     useEffect(() => {
         fetchAllData();
+        // Pushed changes replace polling: parts are synced by delta, anything else reloads everything
+        const events = new EventSource(`${process.env.REACT_APP_API_BASE_URL}/events`);
+        // A part change without an id stands for many changes and is caught up by a delta sync,
+        // except a delete (e.g. a truncate) which leaves nothing to sync from
+        events.addEventListener('parts', event => {
+            const change = JSON.parse(event.data);
+            change.id == null && change.type === 'DELETE' ? fetchAllData() : fetchParts();
+        });
+        ['categories', 'sizes', 'units', 'precisions', 'resync'].forEach(name =>
+            events.addEventListener(name, () => fetchAllData()));
+        return () => events.close();
     }, []);
 
     const fetchAllData = async () => {
         try {
-            const [partsRes, categoriesRes, sizesRes, unitsRes, precisionsRes] = await Promise.all([
-                fetch(`${process.env.REACT_APP_API_BASE_URL}/parts`),
-                fetch(`${process.env.REACT_APP_API_BASE_URL}/categories`),
-                fetch(`${process.env.REACT_APP_API_BASE_URL}/sizes`),
-                fetch(`${process.env.REACT_APP_API_BASE_URL}/units`),
-                fetch(`${process.env.REACT_APP_API_BASE_URL}/precisions`)
-            ]);
+            // Parts and all reference data in one request
+            const response = await fetch(`${process.env.REACT_APP_API_BASE_URL}/bootstrap`);
 
-            if (!partsRes.ok || !categoriesRes.ok || !sizesRes.ok || !unitsRes.ok || !precisionsRes.ok) {
+            if (!response.ok) {
                 throw new Error('Failed to fetch data');
             }
 
-            const [partsData, categoriesData, sizesData, unitsData, precisionsData] = await Promise.all([
-                partsRes.json(),
-                categoriesRes.json(),
-                sizesRes.json(),
-                unitsRes.json(),
-                precisionsRes.json()
-            ]);
+            const data = await response.json();
 
-            setParts(partsData);
-            setCategories(categoriesData);
-            setSizes(sizesData);
-            setUnits(unitsData);
-            setPrecisions(precisionsData);
+            setParts(data.parts);
+            revision.current = data.revision;
+            setCategories(data.categories);
+            setSizes(data.sizes);
+            setUnits(data.units);
+            setPrecisions(data.precisions);
             setLoading(false);
         } catch (error) {
             setError(error.message);
@@ -59,8 +62,9 @@ function PartsForm() {
         }
     };
 
+    // Applies only what changed since the last sync instead of reloading the whole list
     const fetchParts = () => {
-        fetch(`${process.env.REACT_APP_API_BASE_URL}/parts`)
+        fetch(`${process.env.REACT_APP_API_BASE_URL}/parts/changes?since=${revision.current}`)
             .then(response => {
                 if (!response.ok) {
                     throw new Error('Network response was not ok');
@@ -68,7 +72,18 @@ function PartsForm() {
                 return response.json();
             })
             .then(data => {
-                setParts(data);
+                // Deletions since the last sync are no longer known, so the list cannot be patched
+                if (data.resync) {
+                    fetchAllData();
+                    return;
+                }
+                revision.current = data.revision;
+                setParts(current => {
+                    const byId = new Map(current.map(part => [part.id, part]));
+                    data.changed.forEach(part => byId.set(part.id, part));
+                    data.deleted.forEach(id => byId.delete(id));
+                    return [...byId.values()].sort((a, b) => a.name.localeCompare(b.name));
+                });
             })
             .catch(error => {
                 alert('Error fetching parts: ' + error.message);